@@ -0,0 +1,82 @@
+package com.company.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result against a baseline result and fails when a benchmark got slower than the tolerance.
+ * A missing baseline fails as well, unless {@code -Djmh.baseline.optional=true} explicitly allows skipping the check,
+ * see {@code src/jmh/baseline/README.md}.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <result.json> [tolerancePercent]}, default tolerance 10%.
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10.0;
+
+    private static final String BASELINE_OPTIONAL_PROPERTY = "jmh.baseline.optional";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [tolerancePercent]");
+            System.exit(2);
+        }
+        var tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+
+        var baselineFile = Path.of(args[0]);
+        if (!Files.exists(baselineFile)) {
+            if (Boolean.getBoolean(BASELINE_OPTIONAL_PROPERTY)) {
+                System.out.println("No baseline at " + baselineFile + ", skipping the regression check as "
+                        + BASELINE_OPTIONAL_PROPERTY + " is set.");
+                return;
+            }
+            System.err.println("No baseline at " + baselineFile + ". Record one on the reference host by copying a "
+                    + "jmh-result.json there, or pass -D" + BASELINE_OPTIONAL_PROPERTY + "=true to skip the check.");
+            System.exit(1);
+        }
+        var baseline = read(baselineFile);
+        var current = read(Path.of(args[1]));
+
+        var regressions = 0;
+        for (var entry : current.entrySet()) {
+            var before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %12.3f  (new)%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            // All benchmarks report average time, so higher is worse
+            var changePercent = (entry.getValue() - before) / before * 100.0;
+            var regressed = changePercent > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %12.3f -> %12.3f  %+7.1f%%%s%n",
+                    entry.getKey(), before, entry.getValue(), changePercent, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + tolerance + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Double> read(Path file) throws IOException {
+        var scores = new LinkedHashMap<String, Double>();
+        for (JsonNode run : new ObjectMapper().readTree(Files.readAllBytes(file))) {
+            var key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").properties().forEach(p -> key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            key.append(" [").append(run.path("primaryMetric").path("scoreUnit").asText()).append(']');
+            scores.put(key.toString(), run.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+}
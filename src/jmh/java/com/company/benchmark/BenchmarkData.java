@@ -0,0 +1,100 @@
+package com.company.benchmark;
+
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import com.company.auth.model.AuthenticatedUser;
+import com.company.auth.model.Role;
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeProfile;
+import com.company.feedback.entity.Feedback;
+import com.company.feedback.model.FeedbackVisibility;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deterministic, realistically sized fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static AuthenticatedUser user(Set<Role> roles) {
+        return AuthenticatedUser.builder()
+                .userId(42L)
+                .employeeId(7L)
+                .username("lili.aldrin")
+                .password("")
+                .roles(roles)
+                .build();
+    }
+
+    static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("employee" + id + "@company.com")
+                .build();
+    }
+
+    static List<EmployeeProfile> profiles(int size) {
+        var profiles = new ArrayList<EmployeeProfile>(size);
+        for (long i = 1; i <= size; i++) {
+            profiles.add(EmployeeProfile.builder()
+                    .id(i)
+                    .employee(employee(i))
+                    .jobTitle("Senior Software Engineer")
+                    .department("Engineering")
+                    .skills("Java,Spring Boot,PostgreSQL,React,Kubernetes")
+                    .bio("Builds and operates the HR platform. Enjoys clean architecture and good coffee.")
+                    .avatarUrl("https://cdn.company.com/avatars/" + i + ".png")
+                    .salary(new BigDecimal("85000.00"))
+                    .performanceNotes("Consistently exceeds expectations")
+                    .homeAddress(i + " Main Street, Berlin")
+                    .personalPhone("+49 170 000 " + i)
+                    .build());
+        }
+        return profiles;
+    }
+
+    static List<AbsenceRequest> absences(int size) {
+        var manager = employee(1);
+        var absences = new ArrayList<AbsenceRequest>(size);
+        for (long i = 1; i <= size; i++) {
+            var from = LocalDate.of(2025, 1, 1).plusDays(i);
+            absences.add(AbsenceRequest.builder()
+                    .id(i)
+                    .employee(employee(i + 1))
+                    .manager(manager)
+                    .fromDate(from)
+                    .toDate(from.plusDays(4))
+                    .type(AbsenceType.VACATION)
+                    .status(AbsenceStatus.PENDING)
+                    .decisionAt(LocalDateTime.of(2025, 1, 1, 9, 0))
+                    .build());
+        }
+        return absences;
+    }
+
+    static List<Feedback> feedback(int size) {
+        var target = employee(1);
+        var feedback = new ArrayList<Feedback>(size);
+        for (long i = 1; i <= size; i++) {
+            feedback.add(Feedback.builder()
+                    .id(i)
+                    .employee(target)
+                    .author(employee(i + 1))
+                    .text("Great collaboration on the release, clear communication and thorough reviews.")
+                    .visibility(FeedbackVisibility.EMPLOYEE_AND_MANAGER)
+                    .build());
+        }
+        return feedback;
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.benchmark;
+
+import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.mapper.AbsenceRequestMapper;
+import com.company.employee.dto.EmployeeProfilePublicDto;
+import com.company.employee.mapper.EmployeeProfileMapper;
+import com.company.feedback.dto.FeedbackDto;
+import com.company.feedback.mapper.FeedbackMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the DTO lists returned by the list endpoints, configured like Spring MVC's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "50", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+
+    private List<EmployeeProfilePublicDto> profiles;
+    private List<AbsenceRequestDto> absences;
+    private List<FeedbackDto> feedback;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        profiles = Mappers.getMapper(EmployeeProfileMapper.class).toPublicDtoList(BenchmarkData.profiles(size));
+        absences = Mappers.getMapper(AbsenceRequestMapper.class).toDtoList(BenchmarkData.absences(size));
+        feedback = Mappers.getMapper(FeedbackMapper.class).toDtoList(BenchmarkData.feedback(size));
+    }
+
+    @Benchmark
+    public byte[] publicProfiles() throws JsonProcessingException {
+        return writer.writeValueAsBytes(profiles);
+    }
+
+    @Benchmark
+    public byte[] absences() throws JsonProcessingException {
+        return writer.writeValueAsBytes(absences);
+    }
+
+    @Benchmark
+    public byte[] feedback() throws JsonProcessingException {
+        return writer.writeValueAsBytes(feedback);
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.benchmark;
+
+import com.company.auth.jwt.JwtProperties;
+import com.company.auth.jwt.JwtTokenProvider;
+import com.company.auth.model.AuthenticatedUser;
+import com.company.auth.model.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT work: issuing on login, and verifying plus resolving the user on every authenticated call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var properties = new JwtProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+        tokenProvider = new JwtTokenProvider(properties);
+        user = BenchmarkData.user(Set.of(Role.EMPLOYEE, Role.MANAGER));
+        token = tokenProvider.createToken(user);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser getUserFromToken() {
+        return tokenProvider.getUserFromToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser authenticateCached() {
+        return tokenProvider.authenticate(token).orElseThrow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.company.benchmark;
+
+import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.mapper.AbsenceRequestMapper;
+import com.company.employee.dto.EmployeeProfilePrivateDto;
+import com.company.employee.dto.EmployeeProfilePublicDto;
+import com.company.employee.entity.EmployeeProfile;
+import com.company.employee.mapper.EmployeeProfileMapper;
+import com.company.feedback.dto.FeedbackDto;
+import com.company.feedback.entity.Feedback;
+import com.company.feedback.mapper.FeedbackMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of the list endpoints, at typical page sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "50", "200"})
+    public int size;
+
+    private final EmployeeProfileMapper profileMapper = Mappers.getMapper(EmployeeProfileMapper.class);
+    private final AbsenceRequestMapper absenceMapper = Mappers.getMapper(AbsenceRequestMapper.class);
+    private final FeedbackMapper feedbackMapper = Mappers.getMapper(FeedbackMapper.class);
+
+    private List<EmployeeProfile> profiles;
+    private List<AbsenceRequest> absences;
+    private List<Feedback> feedback;
+
+    @Setup
+    public void setUp() {
+        profiles = BenchmarkData.profiles(size);
+        absences = BenchmarkData.absences(size);
+        feedback = BenchmarkData.feedback(size);
+    }
+
+    @Benchmark
+    public EmployeeProfilePrivateDto profileToPrivateDto() {
+        return profileMapper.toPrivateDto(profiles.get(0));
+    }
+
+    @Benchmark
+    public List<EmployeeProfilePublicDto> profilesToPublicDtoList() {
+        return profileMapper.toPublicDtoList(profiles);
+    }
+
+    @Benchmark
+    public List<AbsenceRequestDto> absencesToDtoList() {
+        return absenceMapper.toDtoList(absences);
+    }
+
+    @Benchmark
+    public List<FeedbackDto> feedbackToDtoList() {
+        return feedbackMapper.toDtoList(feedback);
+    }
+}
@@ -1,12 +1,23 @@
 package com.company;
 
+import com.company.absence.service.AbsenceStreamProperties;
 import com.company.auth.jwt.JwtProperties;
+import com.company.common.calendar.HolidayCalendarProperties;
+import com.company.common.idempotency.IdempotencyProperties;
+import com.company.common.outbox.OutboxProperties;
+import com.company.common.query.QueryBudgetProperties;
+import com.company.common.web.RequestConcurrencyProperties;
+import com.company.employee.cache.ProfileCacheProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, ProfileCacheProperties.class, RequestConcurrencyProperties.class,
+		QueryBudgetProperties.class, IdempotencyProperties.class, HolidayCalendarProperties.class,
+		OutboxProperties.class, AbsenceStreamProperties.class})
+@EnableScheduling
 public class EmployeeProfileApplication {
 
 	public static void main(String[] args) {
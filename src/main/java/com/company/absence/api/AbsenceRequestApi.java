@@ -1,7 +1,11 @@
 package com.company.absence.api;
 
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.dto.AbsenceDecisionRequest;
+import com.company.absence.dto.AbsenceDecisionResultDto;
 import com.company.absence.dto.AbsenceRequestCreateRequest;
 import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.dto.TeamCalendarDto;
 import com.company.common.api.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,9 +14,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Absences", description = "Employee absence request operations")
@@ -28,7 +36,8 @@ public interface AbsenceRequestApi {
     @GetMapping("/me/absences")
     ResponseEntity<List<AbsenceRequestDto>> getMyAbsences();
 
-    @Operation(summary = "Create an absence request for current employee")
+    @Operation(summary = "Create an absence request for current employee",
+            description = "The inclusive date range must not exceed 366 days.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Absence request created"),
             @ApiResponse(responseCode = "400", description = "Invalid input (date range, type, etc.)",
@@ -40,6 +49,16 @@ public interface AbsenceRequestApi {
     ResponseEntity<AbsenceRequestDto> requestAbsence(
             @Valid @RequestBody AbsenceRequestCreateRequest request);
 
+    @Operation(summary = "Get current employee's used and pending absence days per type",
+            description = "Defaults to the current year. Types without any booked days are omitted.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Balances retrieved"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/me/absences/balance")
+    ResponseEntity<List<AbsenceBalanceDto>> getMyBalances(@RequestParam(value = "year", required = false) Integer year);
+
     @Operation(summary = "Get pending absence requests for manager's team")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Pending absence requests retrieved"),
@@ -51,6 +70,57 @@ public interface AbsenceRequestApi {
     @GetMapping("/managers/me/absences")
     ResponseEntity<List<AbsenceRequestDto>> getPendingAbsencesForMyTeam();
 
+    @Operation(summary = "Stream new, cancelled and decided absence requests of manager's team",
+            description = "Server-Sent Events. The first event of every connection is `connected`; reload the pending "
+                    + "absence requests when it arrives. Then `absence.requested`, `absence.cancelled`, "
+                    + "`absence.approved` and `absence.rejected` carry the changed request.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (user is not a manager)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/managers/me/absences/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    ResponseEntity<SseEmitter> streamPendingAbsencesForMyTeam();
+
+    @Operation(summary = "Get who of the manager's team is out in a date window",
+            description = "Inclusive window of at most 92 days. Returns the number of absent team members per day "
+                    + "and the pending or approved absences of each absent team member. The team is everyone below "
+                    + "the manager, down to maxDepth levels (1 = direct reports only, default and at most 20).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Team calendar retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid window (missing, reversed or too long) or maxDepth",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (user is not a manager)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/managers/me/absences/calendar")
+    ResponseEntity<TeamCalendarDto> getTeamCalendar(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer maxDepth);
+
+    @Operation(summary = "Get used and pending absence days per type of the manager's team",
+            description = "Defaults to the current year. The team is everyone below the manager, down to maxDepth "
+                    + "levels (1 = direct reports only, default and at most 20). Team members and types without any "
+                    + "booked days are omitted.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Team balances retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid maxDepth",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (user is not a manager)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/managers/me/absences/balances")
+    ResponseEntity<List<AbsenceBalanceDto>> getTeamBalances(
+            @RequestParam(value = "year", required = false) Integer year,
+            @RequestParam(required = false) Integer maxDepth);
+
     @Operation(summary = "Approve an absence request")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Absence approved"),
@@ -77,6 +147,22 @@ public interface AbsenceRequestApi {
     @PostMapping("/absences/{id}/reject")
     ResponseEntity<AbsenceRequestDto> rejectAbsence(@PathVariable Long id);
 
+    @Operation(summary = "Approve or reject several absence requests at once",
+            description = "Returns one result per distinct id. Requests that are unknown, not managed by the caller "
+                    + "or no longer pending are reported and left unchanged; the others are decided together.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Decisions processed, see the per-item outcome"),
+            @ApiResponse(responseCode = "400", description = "Invalid input (missing decision, empty or too many ids)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (user is not manager)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/absences/decisions")
+    ResponseEntity<List<AbsenceDecisionResultDto>> decideAbsences(
+            @Valid @RequestBody AbsenceDecisionRequest request);
+
     @Operation(summary = "Cancel an absence request")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Absence cancelled"),
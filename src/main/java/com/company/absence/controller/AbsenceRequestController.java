@@ -1,14 +1,21 @@
 package com.company.absence.controller;
 
 import com.company.absence.api.AbsenceRequestApi;
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.dto.AbsenceDecisionRequest;
+import com.company.absence.dto.AbsenceDecisionResultDto;
 import com.company.absence.dto.AbsenceRequestCreateRequest;
 import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.dto.TeamCalendarDto;
 import com.company.absence.service.AbsenceRequestService;
+import com.company.common.query.QueryBudget;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,36 +26,77 @@ public class AbsenceRequestController implements AbsenceRequestApi {
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 2)
     public ResponseEntity<List<AbsenceRequestDto>> getMyAbsences() {
         return ResponseEntity.ok(absenceRequestService.getMyAbsences());
     }
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 8)
     public ResponseEntity<AbsenceRequestDto> requestAbsence(AbsenceRequestCreateRequest request) {
         return ResponseEntity.ok(absenceRequestService.requestAbsence(request));
     }
 
+    @Override
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 1)
+    public ResponseEntity<List<AbsenceBalanceDto>> getMyBalances(Integer year) {
+        return ResponseEntity.ok(absenceRequestService.getMyBalances(year));
+    }
+
     @Override
     @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 2)
     public ResponseEntity<List<AbsenceRequestDto>> getPendingAbsencesForMyTeam() {
         return ResponseEntity.ok(absenceRequestService.getPendingAbsencesForMyTeam());
     }
 
     @Override
     @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 0)
+    public ResponseEntity<SseEmitter> streamPendingAbsencesForMyTeam() {
+        return ResponseEntity.ok(absenceRequestService.streamPendingAbsencesForMyTeam());
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 1)
+    public ResponseEntity<TeamCalendarDto> getTeamCalendar(LocalDate fromDate, LocalDate toDate, Integer maxDepth) {
+        return ResponseEntity.ok(absenceRequestService.getTeamCalendar(fromDate, toDate, maxDepth));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 1)
+    public ResponseEntity<List<AbsenceBalanceDto>> getTeamBalances(Integer year, Integer maxDepth) {
+        return ResponseEntity.ok(absenceRequestService.getTeamBalances(year, maxDepth));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 8)
     public ResponseEntity<AbsenceRequestDto> approveAbsence(Long id) {
         return ResponseEntity.ok(absenceRequestService.approveAbsence(id));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 8)
     public ResponseEntity<AbsenceRequestDto> rejectAbsence(Long id) {
         return ResponseEntity.ok(absenceRequestService.rejectAbsence(id));
     }
 
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    @QueryBudget(statements = 5)
+    public ResponseEntity<List<AbsenceDecisionResultDto>> decideAbsences(AbsenceDecisionRequest request) {
+        return ResponseEntity.ok(absenceRequestService.decideAbsences(request));
+    }
+
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE')")
+    @QueryBudget(statements = 7)
     public ResponseEntity<AbsenceRequestDto> cancelAbsence(Long id) {
         return ResponseEntity.ok(absenceRequestService.cancelAbsence(id));
     }
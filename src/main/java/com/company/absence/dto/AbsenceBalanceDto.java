@@ -0,0 +1,26 @@
+package com.company.absence.dto;
+
+import com.company.absence.model.AbsenceType;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceBalanceDto {
+
+    private Long employeeId;
+    private int year;
+    private AbsenceType type;
+
+    /**
+     * Days of approved absences in the year.
+     */
+    private int usedDays;
+
+    /**
+     * Days of absences still waiting for a decision in the year.
+     */
+    private int pendingDays;
+}
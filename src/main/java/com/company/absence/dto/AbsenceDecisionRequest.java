@@ -0,0 +1,17 @@
+package com.company.absence.dto;
+
+import com.company.absence.model.AbsenceDecision;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceDecisionRequest {
+
+    private List<Long> ids;
+    private AbsenceDecision decision;
+}
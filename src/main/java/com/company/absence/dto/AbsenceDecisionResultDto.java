@@ -0,0 +1,21 @@
+package com.company.absence.dto;
+
+import com.company.absence.model.AbsenceDecisionOutcome;
+import com.company.absence.model.AbsenceStatus;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceDecisionResultDto {
+
+    private Long id;
+    private AbsenceDecisionOutcome outcome;
+
+    /**
+     * Status after the decision, or the unchanged status when the item was not applied. Empty for unknown ids.
+     */
+    private AbsenceStatus status;
+}
@@ -24,6 +24,7 @@ public class AbsenceRequestDto {
 
     private LocalDate fromDate;
     private LocalDate toDate;
+    private int workingDays;
     private AbsenceType type;
     private AbsenceStatus status;
 
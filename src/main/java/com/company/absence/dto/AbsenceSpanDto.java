@@ -0,0 +1,26 @@
+package com.company.absence.dto;
+
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceSpanDto {
+
+    private Long absenceId;
+
+    /**
+     * Full period of the absence, which may extend beyond the requested window.
+     */
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    private AbsenceType type;
+    private AbsenceStatus status;
+}
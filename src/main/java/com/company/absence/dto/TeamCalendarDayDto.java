@@ -0,0 +1,20 @@
+package com.company.absence.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamCalendarDayDto {
+
+    private LocalDate date;
+
+    /**
+     * Number of team members with a pending or approved absence on this day.
+     */
+    private int absent;
+}
@@ -0,0 +1,27 @@
+package com.company.absence.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamCalendarDto {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    /**
+     * One entry per day of the window, including days nobody is out.
+     */
+    private List<TeamCalendarDayDto> days;
+
+    /**
+     * Team members with at least one absence in the window.
+     */
+    private List<TeamCalendarEmployeeDto> employees;
+}
@@ -0,0 +1,19 @@
+package com.company.absence.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamCalendarEmployeeDto {
+
+    private Long employeeId;
+    private String firstName;
+    private String lastName;
+
+    private List<AbsenceSpanDto> absences;
+}
@@ -41,6 +41,19 @@ public class AbsenceRequest extends BaseEntity {
     @Column(nullable = false)
     private LocalDate toDate;
 
+    /**
+     * Working days between fromDate and toDate in the employee's holiday region, fixed when requested.
+     */
+    @Column(nullable = false)
+    private int workingDays;
+
+    /**
+     * Part of {@link #workingDays} in the year of fromDate, fixed when requested. The rest falls into the year of
+     * toDate.
+     */
+    @Column(nullable = false)
+    private int firstYearWorkingDays;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 50)
     private AbsenceType type;
@@ -0,0 +1,13 @@
+package com.company.absence.model;
+
+import com.company.absence.dto.AbsenceRequestDto;
+
+/**
+ * Published whenever an absence request is created, decided or cancelled.
+ *
+ * @param managerId the manager responsible for the absence
+ * @param type      the event type, e.g. {@code absence.requested} or {@code absence.approved}
+ * @param absence   the absence after the change
+ */
+public record AbsenceChangedEvent(Long managerId, String type, AbsenceRequestDto absence) {
+}
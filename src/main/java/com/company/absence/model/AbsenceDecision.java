@@ -0,0 +1,19 @@
+package com.company.absence.model;
+
+/**
+ * Decision a manager takes on a pending absence request.
+ */
+public enum AbsenceDecision {
+    APPROVE(AbsenceStatus.APPROVED),
+    REJECT(AbsenceStatus.REJECTED);
+
+    private final AbsenceStatus targetStatus;
+
+    AbsenceDecision(AbsenceStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public AbsenceStatus targetStatus() {
+        return targetStatus;
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.absence.model;
+
+/**
+ * Per-item result of a bulk absence decision. Requests the manager is not assigned to are reported as
+ * {@link #NOT_FOUND}, so the outcome does not reveal which ids exist.
+ */
+public enum AbsenceDecisionOutcome {
+    APPLIED,
+    NOT_FOUND,
+    NOT_PENDING
+}
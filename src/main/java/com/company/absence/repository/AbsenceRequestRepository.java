@@ -4,23 +4,98 @@ import com.company.absence.entity.AbsenceRequest;
 import com.company.absence.model.AbsenceStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AbsenceRequestRepository extends JpaRepository<AbsenceRequest, Long> {
 
     /**
      * All absence requests for a given employee (for "My absences" view).
+     * The employee is fetched along so mapping to DTOs needs no extra queries.
      */
+    @EntityGraph(attributePaths = "employee")
     Page<AbsenceRequest> findByEmployeeIdOrderByFromDateDesc(Long employeeId, Pageable pageable);
 
     /**
      * All absence requests of direct reports of a manager, optionally filtered by status.
+     * The requesting employees are fetched along so mapping to DTOs needs no extra queries.
      */
+    @EntityGraph(attributePaths = "employee")
     Page<AbsenceRequest> findByManagerIdAndStatusOrderByFromDateDesc(
             Long managerId,
             AbsenceStatus status,
             Pageable pageable
     );
+
+    /**
+     * Absence requests by id with their employees, for bulk decisions that need each employee's holiday region.
+     */
+    @EntityGraph(attributePaths = "employee")
+    List<AbsenceRequest> findWithEmployeeByIdIn(Collection<Long> ids);
+
+    /**
+     * Whether the employee has a pending or approved absence overlapping the given inclusive date range.
+     * Answered from the GiST index behind the {@code ex_absence_request_no_overlap} constraint.
+     */
+    @Query(value = """
+            SELECT EXISTS(SELECT 1
+                          FROM absence_request a
+                          WHERE a.employee_id = :employeeId
+                            AND a.status IN ('PENDING', 'APPROVED')
+                            AND a.period && daterange(:fromDate, :toDate, '[]'))
+            """, nativeQuery = true)
+    boolean existsActiveOverlap(@Param("employeeId") Long employeeId,
+                                @Param("fromDate") LocalDate fromDate,
+                                @Param("toDate") LocalDate toDate);
+
+    /**
+     * Pending and approved absences overlapping the inclusive date range of everyone below the given manager down to
+     * the given depth, resolved through the reporting closure. Comes with the employee's name and is grouped by
+     * employee, so it feeds the team calendar in a single query.
+     */
+    @Query(value = """
+            SELECT a.id         AS "absenceId",
+                   a.employee_id AS "employeeId",
+                   e.first_name AS "firstName",
+                   e.last_name  AS "lastName",
+                   a.from_date  AS "fromDate",
+                   a.to_date    AS "toDate",
+                   a.type       AS "type",
+                   a.status     AS "status"
+            FROM employee_reporting_closure c
+                     JOIN absence_request a ON a.employee_id = c.descendant_id
+                     JOIN employee e ON e.id = a.employee_id
+            WHERE c.ancestor_id = :managerId
+              AND c.depth <= :maxDepth
+              AND a.status IN ('PENDING', 'APPROVED')
+              AND a.period && daterange(:fromDate, :toDate, '[]')
+            ORDER BY e.last_name, e.first_name, a.employee_id, a.from_date
+            """, nativeQuery = true)
+    List<TeamAbsenceView> findTeamAbsencesUnder(@Param("managerId") Long managerId,
+                                                @Param("maxDepth") int maxDepth,
+                                                @Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate);
+
+    /**
+     * Moves those of the given requests that are still {@code PENDING} to {@code status} in a single statement.
+     *
+     * @return the number of requests updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AbsenceRequest a set a.status = :status, a.decisionAt = :decisionAt, a.updatedAt = :decisionAt, "
+            + "a.version = a.version + 1 "
+            + "where a.id in :ids and a.status = com.company.absence.model.AbsenceStatus.PENDING")
+    int decidePending(@Param("ids") Collection<Long> ids,
+                      @Param("status") AbsenceStatus status,
+                      @Param("decisionAt") LocalDateTime decisionAt);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.company.absence.repository;
+
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+
+import java.time.LocalDate;
+
+/**
+ * Column projection of an absence together with the absent employee's name, for native queries.
+ */
+public interface TeamAbsenceView {
+
+    Long getAbsenceId();
+
+    Long getEmployeeId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getFromDate();
+
+    LocalDate getToDate();
+
+    AbsenceType getType();
+
+    AbsenceStatus getStatus();
+}
@@ -0,0 +1,208 @@
+package com.company.absence.service;
+
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running absence balances per employee, type and year in {@code absence_balance}, in working days of the employee's
+ * holiday region.
+ * <p>
+ * Every state transition adds its day deltas with an upsert in the caller's transaction, so reading a balance is a
+ * primary key lookup instead of a scan over the employee's absences. Deltas come from the working days stored on
+ * the absence when it was requested, so every transition reverses exactly what the previous one booked, whatever
+ * happened to the holiday calendar in between. A nightly reconciliation recomputes all balances from the same
+ * stored days in {@code absence_request} and corrects any drift.
+ */
+@Component
+@Slf4j
+public class AbsenceBalanceLedger {
+
+    private static final String UPSERT = """
+            INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+            VALUES (:employeeId, :type, :year, :usedDays, :pendingDays)
+            ON CONFLICT (employee_id, type, year) DO UPDATE
+                SET used_days    = absence_balance.used_days + EXCLUDED.used_days,
+                    pending_days = absence_balance.pending_days + EXCLUDED.pending_days,
+                    updated_at   = NOW()
+            """;
+
+    private static final String RECONCILE = """
+            INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+            SELECT a.employee_id,
+                   a.type,
+                   y.year,
+                   COALESCE(SUM(y.days) FILTER (WHERE a.status = 'APPROVED'), 0),
+                   COALESCE(SUM(y.days) FILTER (WHERE a.status = 'PENDING'), 0)
+            FROM absence_request a
+                     CROSS JOIN LATERAL (VALUES (EXTRACT(YEAR FROM a.from_date)::INT, a.first_year_working_days),
+                                                (EXTRACT(YEAR FROM a.to_date)::INT,
+                                                 a.working_days - a.first_year_working_days)) AS y(year, days)
+            WHERE a.status IN ('PENDING', 'APPROVED')
+              AND y.days <> 0
+            GROUP BY a.employee_id, a.type, y.year
+            ON CONFLICT (employee_id, type, year) DO UPDATE
+                SET used_days    = EXCLUDED.used_days,
+                    pending_days = EXCLUDED.pending_days,
+                    updated_at   = NOW()
+                WHERE (absence_balance.used_days, absence_balance.pending_days)
+                          IS DISTINCT FROM (EXCLUDED.used_days, EXCLUDED.pending_days)
+            """;
+
+    private static final String RESET_WITHOUT_ABSENCES = """
+            UPDATE absence_balance b
+            SET used_days = 0, pending_days = 0, updated_at = NOW()
+            WHERE (b.used_days <> 0 OR b.pending_days <> 0)
+              AND NOT EXISTS(SELECT 1
+                             FROM absence_request a
+                             WHERE a.employee_id = b.employee_id
+                               AND a.type = b.type
+                               AND a.status IN ('PENDING', 'APPROVED')
+                               AND a.from_date <= make_date(b.year, 12, 31)
+                               AND a.to_date >= make_date(b.year, 1, 1))
+            """;
+
+    private static final RowMapper<AbsenceBalanceDto> BALANCE_ROW_MAPPER = (rs, rowNum) -> AbsenceBalanceDto.builder()
+            .employeeId(rs.getLong("employee_id"))
+            .type(AbsenceType.valueOf(rs.getString("type")))
+            .year(rs.getInt("year"))
+            .usedDays(rs.getInt("used_days"))
+            .pendingDays(rs.getInt("pending_days"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AbsenceBalanceLedger(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void transition(AbsenceRequest absence, AbsenceStatus from, AbsenceStatus to) {
+        transition(List.of(absence), from, to);
+    }
+
+    /**
+     * Books the same transition for several absences in one JDBC batch.
+     */
+    public void transition(Collection<AbsenceRequest> absences, AbsenceStatus from, AbsenceStatus to) {
+        var batch = new ArrayList<MapSqlParameterSource>();
+        for (var absence : absences) {
+            bookedDaysPerYear(absence).forEach((year, days) -> {
+                var usedDays = delta(AbsenceStatus.APPROVED, from, to, days);
+                var pendingDays = delta(AbsenceStatus.PENDING, from, to, days);
+                if (usedDays != 0 || pendingDays != 0) {
+                    batch.add(new MapSqlParameterSource()
+                            .addValue("employeeId", absence.getEmployee().getId())
+                            .addValue("type", absence.getType().name())
+                            .addValue("year", year)
+                            .addValue("usedDays", usedDays)
+                            .addValue("pendingDays", pendingDays));
+                }
+            });
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, batch.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    /**
+     * Balances of the given employees for one year, by employee and type. Missing rows mean nothing was booked.
+     */
+    public List<AbsenceBalanceDto> balancesOf(Collection<Long> employeeIds, int year) {
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                        SELECT employee_id, type, year, used_days, pending_days
+                        FROM absence_balance
+                        WHERE year = :year AND employee_id IN (:employeeIds)
+                        ORDER BY employee_id, type
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("year", year)
+                        .addValue("employeeIds", employeeIds),
+                BALANCE_ROW_MAPPER);
+    }
+
+    /**
+     * Balances of everyone below the manager down to {@code maxDepth} levels for one year, by employee and type,
+     * resolved through the reporting closure.
+     */
+    public List<AbsenceBalanceDto> balancesUnder(long managerId, int maxDepth, int year) {
+        return jdbcTemplate.query("""
+                        SELECT b.employee_id, b.type, b.year, b.used_days, b.pending_days
+                        FROM employee_reporting_closure c
+                                 JOIN absence_balance b ON b.employee_id = c.descendant_id
+                        WHERE c.ancestor_id = :managerId
+                          AND c.depth <= :maxDepth
+                          AND b.year = :year
+                        ORDER BY b.employee_id, b.type
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("managerId", managerId)
+                        .addValue("maxDepth", maxDepth)
+                        .addValue("year", year),
+                BALANCE_ROW_MAPPER);
+    }
+
+    /**
+     * Recomputes all balances from the absences and corrects the ones that drifted.
+     * <p>
+     * Every node schedules it, the advisory lock lets only one of them run it and the others skip. The table lock
+     * waits for transactions that already booked a transition and makes later ones wait until the recomputation is
+     * done, so their deltas land on top of the corrected values.
+     */
+    @Scheduled(cron = "${absence-balance.reconcile-cron:0 30 2 * * *}")
+    @Transactional
+    public void reconcile() {
+        var locked = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('absence_balance.reconcile'))", Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("Absence balance reconciliation already running on another node, skipping");
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE absence_balance IN SHARE ROW EXCLUSIVE MODE");
+        var corrected = jdbcTemplate.getJdbcTemplate().update(RECONCILE);
+        var reset = jdbcTemplate.getJdbcTemplate().update(RESET_WITHOUT_ABSENCES);
+        if (corrected + reset > 0) {
+            log.warn("Absence balance reconciliation corrected {} balances and reset {}", corrected, reset);
+        } else {
+            log.info("Absence balance reconciliation found no drift");
+        }
+    }
+
+    /**
+     * Working days of the absence per year as fixed when it was requested.
+     */
+    private static Map<Integer, Integer> bookedDaysPerYear(AbsenceRequest absence) {
+        var days = new TreeMap<Integer, Integer>();
+        days.put(absence.getFromDate().getYear(), absence.getFirstYearWorkingDays());
+        days.merge(absence.getToDate().getYear(), absence.getWorkingDays() - absence.getFirstYearWorkingDays(),
+                Integer::sum);
+        return days;
+    }
+
+    private static int delta(AbsenceStatus column, AbsenceStatus from, AbsenceStatus to, int days) {
+        var delta = 0;
+        if (from == column) {
+            delta -= days;
+        }
+        if (to == column) {
+            delta += days;
+        }
+        return delta;
+    }
+}
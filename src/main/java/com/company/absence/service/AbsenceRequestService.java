@@ -1,8 +1,14 @@
 package com.company.absence.service;
 
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.dto.AbsenceDecisionRequest;
+import com.company.absence.dto.AbsenceDecisionResultDto;
 import com.company.absence.dto.AbsenceRequestCreateRequest;
 import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.dto.TeamCalendarDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface AbsenceRequestService {
@@ -27,6 +33,28 @@ public interface AbsenceRequestService {
      */
     List<AbsenceRequestDto> getPendingAbsencesForMyTeam();
 
+    /**
+     * Server-Sent Events stream of new, cancelled and decided absence requests the manager is responsible for.
+     */
+    SseEmitter streamPendingAbsencesForMyTeam();
+
+    /**
+     * Who of the manager's reports is out in the inclusive date window: per-day counts and per-employee spans.
+     * Covers everyone below the manager down to {@code maxDepth} levels, the whole subtree when {@code null}.
+     */
+    TeamCalendarDto getTeamCalendar(LocalDate fromDate, LocalDate toDate, Integer maxDepth);
+
+    /**
+     * Used and pending days of the current employee per absence type, for the given year or the current one.
+     */
+    List<AbsenceBalanceDto> getMyBalances(Integer year);
+
+    /**
+     * Used and pending days per absence type of the manager's reports, for the given year or the current one.
+     * Covers everyone below the manager down to {@code maxDepth} levels, the whole subtree when {@code null}.
+     */
+    List<AbsenceBalanceDto> getTeamBalances(Integer year, Integer maxDepth);
+
     /**
      * Approve an absence request as the responsible manager.
      */
@@ -36,4 +64,10 @@ public interface AbsenceRequestService {
      * Reject an absence request as the responsible manager.
      */
     AbsenceRequestDto rejectAbsence(Long requestId);
+
+    /**
+     * Approve or reject several absence requests at once as the responsible manager.
+     * Requests that cannot be decided are reported per item instead of failing the whole call.
+     */
+    List<AbsenceDecisionResultDto> decideAbsences(AbsenceDecisionRequest request);
 }
@@ -0,0 +1,28 @@
+package com.company.absence.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "absence-stream")
+public class AbsenceStreamProperties {
+
+    /**
+     * Events buffered per connection before a slow connection is closed. Covers a bulk decision of 200 requests.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * How often an idle connection gets a comment, so proxies keep it open and dead clients are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /**
+     * Lifetime of a connection before the client has to reconnect.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
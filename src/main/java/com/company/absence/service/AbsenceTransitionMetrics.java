@@ -0,0 +1,35 @@
+package com.company.absence.service;
+
+import com.company.absence.model.AbsenceStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts absence request state transitions as {@code absence.transitions}, tagged {@code from} and {@code to}.
+ * New requests are counted with {@code from=NONE}.
+ */
+@Component
+public class AbsenceTransitionMetrics {
+
+    private static final String NONE = "NONE";
+
+    private final MeterRegistry registry;
+
+    public AbsenceTransitionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void transition(AbsenceStatus from, AbsenceStatus to) {
+        transition(from, to, 1);
+    }
+
+    public void transition(AbsenceStatus from, AbsenceStatus to, int count) {
+        Counter.builder("absence.transitions")
+                .description("Absence request state transitions")
+                .tag("from", from != null ? from.name() : NONE)
+                .tag("to", to.name())
+                .register(registry)
+                .increment(count);
+    }
+}
@@ -0,0 +1,175 @@
+package com.company.absence.service;
+
+import com.company.absence.model.AbsenceChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes absence changes to the Server-Sent Events connections of the responsible manager.
+ * <p>
+ * Committed {@link AbsenceChangedEvent}s of this node are fanned out to the manager's connections. Every connection
+ * buffers at most {@link AbsenceStreamProperties#getBufferSize()} events and is drained by its own virtual thread,
+ * so a slow client never blocks the committing request or other clients. A connection whose buffer overflows is
+ * closed; clients reload the pending absences whenever they receive the {@value #CONNECTED} event.
+ */
+@Component
+@Slf4j
+public class PendingAbsenceStream {
+
+    static final String CONNECTED = "connected";
+
+    private final AbsenceStreamProperties properties;
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter overflows;
+
+    public PendingAbsenceStream(AbsenceStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("absence.stream.connections", this, PendingAbsenceStream::connections)
+                .description("Open pending absence stream connections")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("absence.stream.overflows")
+                .description("Pending absence stream connections closed because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a connection for the manager. The first event is {@value #CONNECTED}.
+     */
+    public SseEmitter subscribe(long managerId) {
+        var emitter = new SseEmitter(properties.getTimeout().toMillis());
+        var subscription = new Subscription(managerId, emitter, properties.getBufferSize());
+        subscriptions.compute(managerId, (id, existing) -> {
+            var managerSubscriptions = existing != null ? existing : ConcurrentHashMap.<Subscription>newKeySet();
+            managerSubscriptions.add(subscription);
+            return managerSubscriptions;
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        log.debug("Opened pending absence stream of manager: {}", managerId);
+        subscription.offer(SseEmitter.event().name(CONNECTED).data(managerId));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAbsenceChanged(AbsenceChangedEvent event) {
+        if (event.managerId() == null) {
+            return;
+        }
+        var managerSubscriptions = subscriptions.get(event.managerId());
+        if (managerSubscriptions == null) {
+            return;
+        }
+        for (var subscription : managerSubscriptions) {
+            subscription.offer(SseEmitter.event()
+                    .id(String.valueOf(event.absence().getId()))
+                    .name(event.type())
+                    .data(event.absence(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${absence-stream.heartbeat-interval:PT25S}")
+    void heartbeat() {
+        subscriptions.values().forEach(managerSubscriptions ->
+                managerSubscriptions.forEach(subscription -> subscription.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    int connections() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.values().forEach(managerSubscriptions ->
+                managerSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.managerId, (id, managerSubscriptions) -> {
+            managerSubscriptions.remove(subscription);
+            return managerSubscriptions.isEmpty() ? null : managerSubscriptions;
+        });
+    }
+
+    private final class Subscription {
+
+        private final long managerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(long managerId, SseEmitter emitter, int bufferSize) {
+            this.managerId = managerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.warn("Closing pending absence stream of manager {}, {} events are not sent yet",
+                        managerId, buffer.size());
+                overflows.increment();
+                close();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void close() {
+            closed = true;
+            buffer.clear();
+            remove(this);
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The container completes the emitter after a failed send
+                log.debug("Pending absence stream of manager {} is gone: {}", managerId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // An event offered while the loop was finishing would otherwise wait for the next one
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
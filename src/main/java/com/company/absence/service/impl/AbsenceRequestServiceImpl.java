@@ -1,45 +1,101 @@
 package com.company.absence.service.impl;
 
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.dto.AbsenceDecisionRequest;
+import com.company.absence.dto.AbsenceDecisionResultDto;
 import com.company.absence.dto.AbsenceRequestCreateRequest;
 import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.dto.TeamCalendarDto;
 import com.company.absence.entity.AbsenceRequest;
 import com.company.absence.mapper.AbsenceRequestMapper;
+import com.company.absence.model.AbsenceChangedEvent;
+import com.company.absence.model.AbsenceDecisionOutcome;
 import com.company.absence.model.AbsenceStatus;
 import com.company.absence.model.AbsenceType;
 import com.company.absence.repository.AbsenceRequestRepository;
+import com.company.absence.service.AbsenceBalanceLedger;
 import com.company.absence.service.AbsenceRequestService;
+import com.company.absence.service.AbsenceTransitionMetrics;
+import com.company.absence.service.PendingAbsenceStream;
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
 import com.company.auth.security.SecurityUtils;
+import com.company.common.calendar.WorkingDayCalendar;
+import com.company.common.logging.LogMarkers;
+import com.company.common.metrics.MetricsConfig;
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxWriter;
 import com.company.employee.entity.Employee;
 import com.company.employee.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.springframework.data.domain.Pageable.unpaged;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(MetricsConfig.SERVICE_CALLS)
 @Slf4j
 public class AbsenceRequestServiceImpl implements AbsenceRequestService {
 
+    /**
+     * Upper bound for the ids of a single bulk decision, keeps the IN list and the response reasonably sized.
+     */
+    static final int MAX_BULK_DECISIONS = 200;
+
+    /**
+     * Longest absence in days, a leap year. Keeps the working day count and the balance bookings bounded.
+     */
+    static final int MAX_ABSENCE_DAYS = 366;
+
+    /**
+     * Longest team calendar window in days, a quarter.
+     */
+    static final int MAX_CALENDAR_DAYS = 92;
+
+    /**
+     * Deepest reporting level the team calendar and team balances reach down to, also their default.
+     */
+    static final int MAX_TEAM_DEPTH = 20;
+
+    static final String OUTBOX_AGGREGATE = "absence";
+
     private final AbsenceRequestRepository absenceRequestRepository;
     private final EmployeeRepository employeeRepository;
     private final AbsenceRequestMapper mapper;
+    private final AbsenceTransitionMetrics transitionMetrics;
+    private final AbsenceBalanceLedger balanceLedger;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PendingAbsenceStream pendingAbsenceStream;
 
     @Override
     @Transactional(readOnly = true)
     public List<AbsenceRequestDto> getMyAbsences() {
         var currentUser = SecurityUtils.getCurrentUser();
-        log.info("Retrieving all absences of current user: " + currentUser.getUserId());
+        log.info(LogMarkers.SAMPLED, "Retrieving all absences of current user: {}", currentUser.getUserId());
 
         ensureCurrentUserHasEmployee(currentUser);
 
@@ -52,7 +108,7 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
     public AbsenceRequestDto requestAbsence(AbsenceRequestCreateRequest request) {
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Creating a new absence, by: " + currentUser.getUserId());
+        log.info("Creating a new absence, by: {}", currentUser.getUserId());
 
         ensureCurrentUserHasEmployee(currentUser);
 
@@ -66,6 +122,23 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
             log.error("Validation failed: fromDate must be before or equal to toDate");
             throw new IllegalArgumentException("fromDate must be before or equal to toDate");
         }
+        if (ChronoUnit.DAYS.between(request.getFromDate(), request.getToDate()) >= MAX_ABSENCE_DAYS) {
+            log.error("Validation failed: absence longer than {} days", MAX_ABSENCE_DAYS);
+            throw new IllegalArgumentException("Absence must not exceed " + MAX_ABSENCE_DAYS + " days");
+        }
+
+        var daysPerYear = workingDayCalendar.workingDaysPerYear(
+                employee.getRegion(), request.getFromDate(), request.getToDate());
+        var workingDays = daysPerYear.values().stream().mapToInt(Integer::intValue).sum();
+        if (workingDays == 0) {
+            log.error("Validation failed: absence of employee {} has no working days", employee.getId());
+            throw new IllegalArgumentException("Absence must include at least one working day");
+        }
+
+        if (absenceRequestRepository.existsActiveOverlap(employee.getId(), request.getFromDate(), request.getToDate())) {
+            log.error("Validation failed: absence overlaps an existing absence of employee: {}", employee.getId());
+            throw new IllegalStateException("Absence overlaps an existing pending or approved absence");
+        }
 
         var type = request.getType() != null ? request.getType() : AbsenceType.VACATION;
 
@@ -81,12 +154,18 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
                 .manager(manager)
                 .fromDate(request.getFromDate())
                 .toDate(request.getToDate())
+                .workingDays(workingDays)
+                .firstYearWorkingDays(daysPerYear.get(request.getFromDate().getYear()))
                 .type(type)
                 .status(AbsenceStatus.PENDING)
                 .build();
 
         var saved = absenceRequestRepository.save(absence);
-        return mapper.toDto(saved);
+        transitionMetrics.transition(null, AbsenceStatus.PENDING);
+        balanceLedger.transition(saved, null, AbsenceStatus.PENDING);
+        var dto = mapper.toDto(saved);
+        publishChange(saved, AbsenceStatus.PENDING, dto);
+        return dto;
     }
 
     @Override
@@ -94,7 +173,7 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
     public List<AbsenceRequestDto> getPendingAbsencesForMyTeam() {
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Retrieving all pending absences for team, by: " + currentUser.getUserId());
+        log.info(LogMarkers.SAMPLED, "Retrieving all pending absences for team, by: {}", currentUser.getUserId());
 
         ensureCurrentUserHasEmployee(currentUser);
         ensureCurrentUserIsAManager(currentUser);
@@ -108,11 +187,72 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
         return mapper.toDtoList(page.getContent());
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamPendingAbsencesForMyTeam() {
+        var currentUser = SecurityUtils.getCurrentUser();
+
+        log.info("Opening pending absence stream, by: {}", currentUser.getUserId());
+
+        ensureCurrentUserHasEmployee(currentUser);
+        ensureCurrentUserIsAManager(currentUser);
+
+        return pendingAbsenceStream.subscribe(currentUser.getEmployeeId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeamCalendarDto getTeamCalendar(LocalDate fromDate, LocalDate toDate, Integer maxDepth) {
+        var currentUser = SecurityUtils.getCurrentUser();
+
+        log.info(LogMarkers.SAMPLED, "Retrieving team calendar from {} to {}, depth {}, by: {}",
+                fromDate, toDate, maxDepth, currentUser.getUserId());
+
+        ensureCurrentUserHasEmployee(currentUser);
+        ensureCurrentUserIsAManager(currentUser);
+        validateCalendarWindow(fromDate, toDate);
+        var depth = resolveTeamDepth(maxDepth);
+
+        // The whole subtree in one range query over the reporting closure, names included
+        var absences = absenceRequestRepository.findTeamAbsencesUnder(
+                currentUser.getEmployeeId(), depth, fromDate, toDate);
+
+        return TeamCalendarBuilder.build(fromDate, toDate, absences);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AbsenceBalanceDto> getMyBalances(Integer year) {
+        var currentUser = SecurityUtils.getCurrentUser();
+
+        log.info(LogMarkers.SAMPLED, "Retrieving absence balances for year {}, by: {}", year, currentUser.getUserId());
+
+        ensureCurrentUserHasEmployee(currentUser);
+
+        return balanceLedger.balancesOf(List.of(currentUser.getEmployeeId()), yearOrCurrent(year));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AbsenceBalanceDto> getTeamBalances(Integer year, Integer maxDepth) {
+        var currentUser = SecurityUtils.getCurrentUser();
+
+        log.info(LogMarkers.SAMPLED, "Retrieving team absence balances for year {}, depth {}, by: {}",
+                year, maxDepth, currentUser.getUserId());
+
+        ensureCurrentUserHasEmployee(currentUser);
+        ensureCurrentUserIsAManager(currentUser);
+        var depth = resolveTeamDepth(maxDepth);
+
+        // Same team as the calendar: the subtree through the reporting closure
+        return balanceLedger.balancesUnder(currentUser.getEmployeeId(), depth, yearOrCurrent(year));
+    }
+
     @Override
     public AbsenceRequestDto approveAbsence(Long requestId) {
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Approving absence: " + requestId + ", by: " + currentUser.getUserId());
+        log.info("Approving absence: {}, by: {}", requestId, currentUser.getUserId());
 
         var absenceRequest = findAbsenceRequestOrThrow(requestId);
 
@@ -124,15 +264,20 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
         absenceRequest.setDecisionAt(LocalDateTime.now());
 
         var saved = absenceRequestRepository.save(absenceRequest);
-        log.debug("Successfully approved absence request with id:"  + requestId);
-        return mapper.toDto(saved);
+        transitionMetrics.transition(AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+        balanceLedger.transition(saved, AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+        var dto = mapper.toDto(saved);
+        outboxWriter.append(outboxEvent(AbsenceStatus.APPROVED, saved.getId(), dto));
+        publishChange(saved, AbsenceStatus.APPROVED, dto);
+        log.debug("Successfully approved absence request with id: {}", requestId);
+        return dto;
     }
 
     @Override
     public AbsenceRequestDto rejectAbsence(Long requestId) {
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Approving absence: " + requestId + ", by: " + currentUser.getUserId());
+        log.info("Rejecting absence: {}, by: {}", requestId, currentUser.getUserId());
 
         var absenceRequest = findAbsenceRequestOrThrow(requestId);
 
@@ -144,8 +289,71 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
         absenceRequest.setDecisionAt(LocalDateTime.now());
 
         var saved = absenceRequestRepository.save(absenceRequest);
-        log.debug("Successfully rejected absence request with id:"  + requestId);
-        return mapper.toDto(saved);
+        transitionMetrics.transition(AbsenceStatus.PENDING, AbsenceStatus.REJECTED);
+        balanceLedger.transition(saved, AbsenceStatus.PENDING, AbsenceStatus.REJECTED);
+        var dto = mapper.toDto(saved);
+        outboxWriter.append(outboxEvent(AbsenceStatus.REJECTED, saved.getId(), dto));
+        publishChange(saved, AbsenceStatus.REJECTED, dto);
+        log.debug("Successfully rejected absence request with id: {}", requestId);
+        return dto;
+    }
+
+    @Override
+    public List<AbsenceDecisionResultDto> decideAbsences(AbsenceDecisionRequest request) {
+        var currentUser = SecurityUtils.getCurrentUser();
+
+        var ids = validateDecisionRequest(request);
+        var targetStatus = request.getDecision().targetStatus();
+
+        log.info("Deciding {} absences as {}, by: {}", ids.size(), targetStatus, currentUser.getUserId());
+
+        ensureCurrentUserHasEmployee(currentUser);
+        ensureCurrentUserIsAManager(currentUser);
+
+        // One query for all requests and their employees; ownership is the approver stored on each request
+        var requestsById = absenceRequestRepository.findWithEmployeeByIdIn(ids).stream()
+                .collect(Collectors.toMap(AbsenceRequest::getId, Function.identity()));
+
+        var results = new ArrayList<AbsenceDecisionResultDto>(ids.size());
+        var decidable = new ArrayList<AbsenceRequest>();
+        for (var id : ids) {
+            var absenceRequest = requestsById.get(id);
+            var outcome = decisionOutcome(currentUser, absenceRequest);
+            if (outcome == AbsenceDecisionOutcome.APPLIED) {
+                decidable.add(absenceRequest);
+            }
+            results.add(AbsenceDecisionResultDto.builder()
+                    .id(id)
+                    .outcome(outcome)
+                    .status(statusAfterDecision(outcome, absenceRequest, targetStatus))
+                    .build());
+        }
+
+        if (!decidable.isEmpty()) {
+            var decidableIds = decidable.stream().map(AbsenceRequest::getId).toList();
+            var decisionAt = LocalDateTime.now();
+            var updated = absenceRequestRepository.decidePending(decidableIds, targetStatus, decisionAt);
+            if (updated != decidable.size()) {
+                log.error("Absence requests were decided concurrently, expected {} updates, got {}", decidable.size(), updated);
+                throw new ObjectOptimisticLockingFailureException(AbsenceRequest.class, decidableIds);
+            }
+            transitionMetrics.transition(AbsenceStatus.PENDING, targetStatus, updated);
+            balanceLedger.transition(decidable, AbsenceStatus.PENDING, targetStatus);
+
+            // The update bypassed the loaded requests, mirror it on them for the event payloads
+            var events = new ArrayList<OutboxEvent>(decidable.size());
+            for (var absenceRequest : decidable) {
+                absenceRequest.setStatus(targetStatus);
+                absenceRequest.setDecisionAt(decisionAt);
+                var dto = mapper.toDto(absenceRequest);
+                events.add(outboxEvent(targetStatus, absenceRequest.getId(), dto));
+                publishChange(absenceRequest, targetStatus, dto);
+            }
+            outboxWriter.appendAll(events);
+        }
+
+        log.debug("Applied {} of {} absence decisions", decidable.size(), ids.size());
+        return results;
     }
 
     @Override
@@ -153,26 +361,121 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
 
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Cancelling absence: " + requestId + ", by: " + currentUser.getUserId());
+        log.info("Cancelling absence: {}, by: {}", requestId, currentUser.getUserId());
 
         ensureCurrentUserHasEmployee(currentUser);
 
         var absenceRequest = findAbsenceRequestOrThrow(requestId);
 
         ensureCurrentUserIsRequestAuthor(currentUser, absenceRequest);
+        ensureStatusIsCancellable(absenceRequest);
 
+        var previousStatus = absenceRequest.getStatus();
         absenceRequest.setStatus(AbsenceStatus.CANCELLED);
         absenceRequest.setDecisionAt(LocalDateTime.now());
 
         var saved = absenceRequestRepository.save(absenceRequest);
-        log.debug("Successfully cancelled absence request with id:"  + requestId);
-        return mapper.toDto(saved);
+        transitionMetrics.transition(previousStatus, AbsenceStatus.CANCELLED);
+        balanceLedger.transition(saved, previousStatus, AbsenceStatus.CANCELLED);
+        var dto = mapper.toDto(saved);
+        outboxWriter.append(outboxEvent(AbsenceStatus.CANCELLED, saved.getId(), dto));
+        publishChange(saved, AbsenceStatus.CANCELLED, dto);
+        log.debug("Successfully cancelled absence request with id: {}", requestId);
+        return dto;
+    }
+
+    private Set<Long> validateDecisionRequest(AbsenceDecisionRequest request) {
+        if (request == null || request.getDecision() == null) {
+            log.error("Validation failed: decision must be provided");
+            throw new IllegalArgumentException("decision must be provided");
+        }
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            log.error("Validation failed: ids must not be empty");
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (request.getIds().contains(null)) {
+            log.error("Validation failed: ids must not contain null");
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+
+        var ids = new LinkedHashSet<>(request.getIds());
+        if (ids.size() > MAX_BULK_DECISIONS) {
+            log.error("Validation failed: {} ids exceed the limit of {}", ids.size(), MAX_BULK_DECISIONS);
+            throw new IllegalArgumentException("At most " + MAX_BULK_DECISIONS + " absence requests can be decided at once");
+        }
+        return ids;
+    }
+
+    private void validateCalendarWindow(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null) {
+            log.error("Validation failed: from and to must be provided");
+            throw new IllegalArgumentException("from and to must be provided");
+        }
+        if (fromDate.isAfter(toDate)) {
+            log.error("Validation failed: from must be before or equal to to");
+            throw new IllegalArgumentException("from must be before or equal to to");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_CALENDAR_DAYS) {
+            log.error("Validation failed: calendar window longer than {} days", MAX_CALENDAR_DAYS);
+            throw new IllegalArgumentException("Calendar window must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+    }
+
+    private int resolveTeamDepth(Integer maxDepth) {
+        var depth = maxDepth != null ? maxDepth : MAX_TEAM_DEPTH;
+        if (depth < 1) {
+            log.error("Validation failed: maxDepth must be positive");
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+        return Math.min(depth, MAX_TEAM_DEPTH);
+    }
+
+    private static OutboxEvent outboxEvent(AbsenceStatus status, Long absenceId, AbsenceRequestDto dto) {
+        return new OutboxEvent(OUTBOX_AGGREGATE, absenceId, eventType(status), dto);
+    }
+
+    /**
+     * Announces the change to the manager's pending absence streams once the transaction commits.
+     */
+    private void publishChange(AbsenceRequest absence, AbsenceStatus status, AbsenceRequestDto dto) {
+        var managerId = absence.getManager() != null ? absence.getManager().getId() : null;
+        eventPublisher.publishEvent(new AbsenceChangedEvent(managerId, eventType(status), dto));
+    }
+
+    private static String eventType(AbsenceStatus status) {
+        var change = status == AbsenceStatus.PENDING ? "requested" : status.name().toLowerCase(Locale.ROOT);
+        return OUTBOX_AGGREGATE + "." + change;
+    }
+
+    private static int yearOrCurrent(Integer year) {
+        return year != null ? year : LocalDate.now().getYear();
+    }
+
+    private AbsenceDecisionOutcome decisionOutcome(AuthenticatedUser currentUser, AbsenceRequest absenceRequest) {
+        // Requests assigned to another manager look exactly like missing ones
+        if (absenceRequest == null || !isAssignedManager(currentUser, absenceRequest)) {
+            return AbsenceDecisionOutcome.NOT_FOUND;
+        }
+        if (absenceRequest.getStatus() != AbsenceStatus.PENDING) {
+            return AbsenceDecisionOutcome.NOT_PENDING;
+        }
+        return AbsenceDecisionOutcome.APPLIED;
+    }
+
+    private static AbsenceStatus statusAfterDecision(AbsenceDecisionOutcome outcome,
+                                                     AbsenceRequest absenceRequest,
+                                                     AbsenceStatus targetStatus) {
+        return switch (outcome) {
+            case APPLIED -> targetStatus;
+            case NOT_PENDING -> absenceRequest.getStatus();
+            case NOT_FOUND -> null;
+        };
     }
 
     private Employee findEmployeeOrThrow(Long employeeId) {
         return employeeRepository.findById(employeeId)
                 .orElseThrow(() -> {
-                    log.error("Employee not found: " + employeeId);
+                    log.error("Employee not found: {}", employeeId);
                     return new EntityNotFoundException("Employee not found: " + employeeId);
                 });
     }
@@ -180,7 +483,7 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
     private AbsenceRequest findAbsenceRequestOrThrow(Long absenceRequestId) {
         return absenceRequestRepository.findById(absenceRequestId)
                 .orElseThrow(() -> {
-                    log.error("AbsenceRequest not found: " + absenceRequestId);
+                    log.error("AbsenceRequest not found: {}", absenceRequestId);
                     return new EntityNotFoundException("AbsenceRequest not found: " + absenceRequestId);
                 });
     }
@@ -220,13 +523,29 @@ public class AbsenceRequestServiceImpl implements AbsenceRequestService {
             throw new IllegalStateException("Employee has no manager assigned for absence approval");
         }
 
-        var managerUserAccount = manager.getUserAccount();
-        if (managerUserAccount == null || !currentUser.getUserId().equals(managerUserAccount.getId())) {
+        if (!isAssignedManager(currentUser, absenceRequest)) {
             log.error("Only assigned manager can approve absence request");
             throw new AccessDeniedException("Only assigned manager can approve absence request");
         }
     }
 
+    /**
+     * Whether the current user is the approver assigned when the absence was requested. The pending queue and the
+     * pending absence stream are keyed by the same approver, so a reorg does not move open requests.
+     */
+    private static boolean isAssignedManager(AuthenticatedUser currentUser, AbsenceRequest absenceRequest) {
+        var manager = absenceRequest.getManager();
+        return manager != null && manager.getId().equals(currentUser.getEmployeeId());
+    }
+
+    private void ensureStatusIsCancellable(AbsenceRequest absenceRequest) {
+        var status = absenceRequest.getStatus();
+        if (status != AbsenceStatus.PENDING && status != AbsenceStatus.APPROVED) {
+            log.error("Only PENDING or APPROVED absence requests can be cancelled, status: {}", status);
+            throw new IllegalStateException("Only PENDING or APPROVED absence requests can be cancelled");
+        }
+    }
+
     private void ensureStatusIsPending(AbsenceRequest absenceRequest) {
         if (absenceRequest.getStatus() != AbsenceStatus.PENDING) {
             log.error("Only PENDING absence requests can be updated");
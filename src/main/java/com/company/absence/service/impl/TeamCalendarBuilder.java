@@ -0,0 +1,74 @@
+package com.company.absence.service.impl;
+
+import com.company.absence.dto.AbsenceSpanDto;
+import com.company.absence.dto.TeamCalendarDayDto;
+import com.company.absence.dto.TeamCalendarDto;
+import com.company.absence.dto.TeamCalendarEmployeeDto;
+import com.company.absence.repository.TeamAbsenceView;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Builds the team calendar of a date window from the absences overlapping it.
+ * <p>
+ * Per-day counts come from a difference array: each absence adds one at its first day in the window and removes
+ * it after its last, and a prefix sum yields the counts. That is O(absences + days) instead of expanding every
+ * absence day by day. Absences of one employee never overlap, so the counts are also the number of people out.
+ */
+final class TeamCalendarBuilder {
+
+    private TeamCalendarBuilder() {
+    }
+
+    /**
+     * @param absences absences overlapping the window, grouped by employee in the order they should be listed
+     */
+    static TeamCalendarDto build(LocalDate fromDate, LocalDate toDate, List<TeamAbsenceView> absences) {
+        var dayCount = (int) ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        var diff = new int[dayCount + 1];
+        var employees = new LinkedHashMap<Long, TeamCalendarEmployeeDto>();
+
+        for (var absence : absences) {
+            var first = absence.getFromDate().isBefore(fromDate) ? fromDate : absence.getFromDate();
+            var last = absence.getToDate().isAfter(toDate) ? toDate : absence.getToDate();
+            if (first.isAfter(last)) {
+                continue;
+            }
+            diff[(int) ChronoUnit.DAYS.between(fromDate, first)]++;
+            diff[(int) ChronoUnit.DAYS.between(fromDate, last) + 1]--;
+
+            employees.computeIfAbsent(absence.getEmployeeId(), id -> TeamCalendarEmployeeDto.builder()
+                            .employeeId(id)
+                            .firstName(absence.getFirstName())
+                            .lastName(absence.getLastName())
+                            .absences(new ArrayList<>())
+                            .build())
+                    .getAbsences()
+                    .add(AbsenceSpanDto.builder()
+                            .absenceId(absence.getAbsenceId())
+                            .fromDate(absence.getFromDate())
+                            .toDate(absence.getToDate())
+                            .type(absence.getType())
+                            .status(absence.getStatus())
+                            .build());
+        }
+
+        var days = new ArrayList<TeamCalendarDayDto>(dayCount);
+        var absent = 0;
+        for (int i = 0; i < dayCount; i++) {
+            absent += diff[i];
+            days.add(new TeamCalendarDayDto(fromDate.plusDays(i), absent));
+        }
+
+        return TeamCalendarDto.builder()
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .days(days)
+                .employees(new ArrayList<>(employees.values()))
+                .build();
+    }
+}
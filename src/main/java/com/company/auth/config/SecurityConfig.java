@@ -2,7 +2,10 @@ package com.company.auth.config;
 
 import com.company.auth.jwt.JwtAuthenticationFilter;
 import com.company.auth.jwt.JwtTokenProvider;
+import com.company.auth.security.AuthMetrics;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +19,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableMethodSecurity
@@ -23,8 +29,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
-        return new JwtAuthenticationFilter(tokenProvider);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider tokenProvider, AuthMetrics authMetrics) {
+        return new JwtAuthenticationFilter(tokenProvider, authMetrics);
     }
 
     @Bean
@@ -38,7 +44,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                           @Value("${management.server.port:-1}") int managementPort,
+                                           @Value("${server.port:8080}") int serverPort) throws Exception {
 
         http
             .csrf(csrf -> csrf.disable())
@@ -48,9 +56,13 @@ public class SecurityConfig {
                         "/api/auth/login",
                         "/v3/api-docs/**",
                         "/swagger-ui/**",
-                        "/swagger-ui.html"
+                        "/swagger-ui.html",
+                        "/actuator/health/**"
                 ).permitAll()
+                .requestMatchers(prometheusOnManagementPort(managementPort, serverPort)).permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Completing a long-running response (e.g. an event stream) dispatches again without the token
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .httpBasic(Customizer.withDefaults());
@@ -59,4 +71,16 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * Prometheus scrapes need no token, but only on a management port of its own that is not exposed with the API.
+     */
+    private static RequestMatcher prometheusOnManagementPort(int managementPort, int serverPort) {
+        if (managementPort <= 0 || managementPort == serverPort) {
+            return request -> false;
+        }
+        return new AndRequestMatcher(
+                request -> request.getLocalPort() == managementPort,
+                AntPathRequestMatcher.antMatcher("/actuator/prometheus"));
+    }
 }
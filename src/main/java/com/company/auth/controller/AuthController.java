@@ -5,6 +5,7 @@ import com.company.auth.dto.LoginResponse;
 import com.company.auth.jwt.JwtTokenProvider;
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.repository.UserAccountRepository;
+import com.company.auth.security.AuthMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -24,20 +25,23 @@ public class AuthController {
     private final UserAccountRepository userAccountRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final AuthMetrics authMetrics;
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
 
-        log.info("Attempt to login by: " + request.getUsername());
+        log.info("Attempt to login by: {}", request.getUsername());
 
         var account = userAccountRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> {
                     log.error("Login failed: Invalid username or password");
+                    authMetrics.unknownUser();
                     return new BadCredentialsException("Invalid username or password");
                 });
 
         if (!passwordEncoder.matches(request.getPassword(), account.getPasswordHash())) {
             log.error("Login failed: Invalid username or password");
+            authMetrics.badPassword();
             throw new BadCredentialsException("Invalid username or password");
         }
 
@@ -1,6 +1,7 @@
 package com.company.auth.jwt;
 
 import com.company.auth.model.AuthenticatedUser;
+import com.company.auth.security.AuthMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final AuthMetrics authMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,16 +31,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         var token = resolveToken(request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            AuthenticatedUser user = tokenProvider.getUserFromToken(token);
-            var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            log.debug("Adding principal to security context");
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        if (StringUtils.hasText(token)) {
+            tokenProvider.authenticate(token).ifPresentOrElse(this::setAuthentication, authMetrics::invalidToken);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void setAuthentication(AuthenticatedUser user) {
+        var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        log.debug("Adding principal to security context");
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
     private String resolveToken(HttpServletRequest request) {
         log.debug("Resolving token from request header");
         var header = request.getHeader(HttpHeaders.AUTHORIZATION);
@@ -19,4 +19,9 @@ public class JwtProperties {
      * Token validity in milliseconds (for example: 3600000 = 1 hour).
      */
     private long validityInMs = 3600000L;
+
+    /**
+     * Maximum number of verified tokens kept in memory so repeated requests skip signature verification.
+     */
+    private long verifiedTokenCacheSize = 10000L;
 }
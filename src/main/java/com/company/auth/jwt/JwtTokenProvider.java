@@ -2,35 +2,59 @@ package com.company.auth.jwt;
 
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
     private final JwtProperties properties;
-
-    private SecretKey getSigningKey() {
-        var keyBytes = Decoders.BASE64.decode(properties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    /**
+     * Users resolved from already verified tokens, keyed by the SHA-256 digest of the token.
+     * Entries expire together with the token they were created from.
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenProvider(JwtProperties properties) {
+        this.properties = properties;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     public String createToken(AuthenticatedUser user) {
-        log.info("Creating token for user:" + user.getUserId());
+        log.debug("Creating token for user: {}", user.getUserId());
         var now = new Date();
         var expiry = new Date(now.getTime() + properties.getValidityInMs());
 
@@ -51,17 +75,43 @@ public class JwtTokenProvider {
         }
 
         return builder
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token and resolves the user in a single parse.
+     * Repeated calls with the same token are answered from the verified-token cache without any crypto.
+     *
+     * @return the authenticated user, or empty if the token is invalid or expired
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        var key = digest(token);
+
+        var cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached.user());
+        }
+
+        try {
+            var claims = parser.parseClaimsJws(token).getBody();
+            var user = toUser(claims);
+
+            var expiration = claims.getExpiration();
+            if (expiration != null) {
+                verifiedTokens.put(key, new VerifiedToken(user, expiration.getTime()));
+            }
+            return Optional.of(user);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token rejected: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     public boolean validateToken(String token) {
-        log.info("Validating token");
+        log.debug("Validating token");
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -70,17 +120,16 @@ public class JwtTokenProvider {
 
     public AuthenticatedUser getUserFromToken(String token) {
         log.debug("Getting user for token");
-        var claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        var claims = parser.parseClaimsJws(token).getBody();
+        return toUser(claims);
+    }
 
+    private AuthenticatedUser toUser(Claims claims) {
         var userId = Long.valueOf(claims.getSubject());
         var username = claims.get("username", String.class);
         var employeeId = claims.get("employeeId", Long.class);
 
-        log.debug("User from token is: " + userId);
+        log.debug("User from token is: {}", userId);
         @SuppressWarnings("unchecked")
         var roleNames = (Iterable<String>) claims.get("roles");
 
@@ -105,4 +154,34 @@ public class JwtTokenProvider {
         return roles;
     }
 
+    private static String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            var remainingMs = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
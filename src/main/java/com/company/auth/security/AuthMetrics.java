@@ -0,0 +1,41 @@
+package com.company.auth.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts failed authentication attempts as {@code auth.failures}, tagged by reason.
+ */
+@Component
+public class AuthMetrics {
+
+    private final Counter unknownUser;
+    private final Counter badPassword;
+    private final Counter invalidToken;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.unknownUser = failures(registry, "unknown_user");
+        this.badPassword = failures(registry, "bad_password");
+        this.invalidToken = failures(registry, "invalid_token");
+    }
+
+    public void unknownUser() {
+        unknownUser.increment();
+    }
+
+    public void badPassword() {
+        badPassword.increment();
+    }
+
+    public void invalidToken() {
+        invalidToken.increment();
+    }
+
+    private static Counter failures(MeterRegistry registry, String reason) {
+        return Counter.builder("auth.failures")
+                .description("Failed logins and rejected bearer tokens")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
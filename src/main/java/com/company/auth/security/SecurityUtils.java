@@ -12,7 +12,7 @@ public final class SecurityUtils {
     }
 
     public static AuthenticatedUser getCurrentUser() {
-        log.info("Retrieving principal from security context");
+        log.trace("Retrieving principal from security context");
 
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
@@ -3,8 +3,10 @@ package com.company.common.api;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -32,6 +34,20 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.UNAUTHORIZED, ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ObjectOptimisticLockingFailureException ex,
+                                                        HttpServletRequest request) {
+        return buildError(HttpStatus.CONFLICT, "The resource was changed concurrently, reload and retry",
+                request.getRequestURI());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleIntegrityViolation(DataIntegrityViolationException ex,
+                                                                  HttpServletRequest request) {
+        // Typically a concurrent request that passed the same checks first
+        return buildError(HttpStatus.CONFLICT, "The request conflicts with existing data", request.getRequestURI());
+    }
+
     @ExceptionHandler({IllegalStateException.class, IllegalArgumentException.class, ConstraintViolationException.class})
     public ResponseEntity<ErrorResponse> handleBadRequest(RuntimeException ex, HttpServletRequest request) {
         return buildError(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
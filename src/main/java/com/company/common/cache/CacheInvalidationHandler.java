@@ -0,0 +1,19 @@
+package com.company.common.cache;
+
+/**
+ * A local cache that can be invalidated by change notifications from other nodes.
+ */
+public interface CacheInvalidationHandler {
+
+    /**
+     * Region name used in notification payloads ({@code <region>:<key>}).
+     */
+    String region();
+
+    void evict(String key);
+
+    /**
+     * Called when notifications may have been missed, e.g. after the listener reconnected.
+     */
+    void evictAll();
+}
@@ -0,0 +1,156 @@
+package com.company.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Receives cache invalidations published with PostgreSQL {@code NOTIFY} on the {@value #CHANNEL} channel
+ * and hands them to the matching {@link CacheInvalidationHandler}.
+ * <p>
+ * Notifications are raised by database triggers, so they are only delivered once the writing transaction
+ * commits, and every node (including the writer) receives them. The listener holds one dedicated connection
+ * outside the pool and reconnects with backoff; after a reconnect all regions are evicted because
+ * notifications sent in between are lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PostgresCacheInvalidationListener implements SmartLifecycle {
+
+    public static final String CHANNEL = "cache_invalidation";
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long INITIAL_BACKOFF_MS = 1_000L;
+    private static final long MAX_BACKOFF_MS = 30_000L;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final Map<String, CacheInvalidationHandler> handlers;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread worker;
+
+    public PostgresCacheInvalidationListener(DataSourceProperties dataSourceProperties,
+                                             List<CacheInvalidationHandler> handlers) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(CacheInvalidationHandler::region, Function.identity()));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::listen, "cache-invalidation-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(POLL_TIMEOUT_MS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Whether the dedicated connection is currently subscribed to the channel.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+        var backoffMs = INITIAL_BACKOFF_MS;
+        var reconnecting = false;
+
+        while (running) {
+            try (var connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                var pgConnection = connection.unwrap(PGConnection.class);
+                listening = true;
+                log.info("Listening for cache invalidations on channel {}", CHANNEL);
+
+                if (reconnecting) {
+                    handlers.values().forEach(CacheInvalidationHandler::evictAll);
+                }
+                backoffMs = INITIAL_BACKOFF_MS;
+
+                while (running) {
+                    var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener disconnected, retrying in {} ms: {}", backoffMs, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+        listening = false;
+    }
+
+    void dispatch(String payload) {
+        var separator = payload.indexOf(':');
+        if (separator < 0) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+
+        var handler = handlers.get(payload.substring(0, separator));
+        if (handler == null) {
+            log.debug("No cache registered for invalidation: {}", payload);
+            return;
+        }
+
+        try {
+            handler.evict(payload.substring(separator + 1));
+        } catch (RuntimeException e) {
+            log.error("Failed to apply cache invalidation {}", payload, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.common.calendar;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holiday-calendar")
+public class HolidayCalendarProperties {
+
+    /**
+     * Maximum number of region years kept in memory. One region year takes well under 2 KB.
+     */
+    private long maximumSize = 1000L;
+
+    /**
+     * How long a region year is served before it is reloaded, as a safety net for holiday changes that were not
+     * notified.
+     */
+    private Duration timeToLive = Duration.ofHours(24);
+}
@@ -0,0 +1,115 @@
+package com.company.common.calendar;
+
+import com.company.common.cache.CacheInvalidationHandler;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts working days (Monday to Friday, except the public holidays of a region) of inclusive date ranges.
+ * <p>
+ * Each region year is loaded once from {@code public_holiday} and cached as a {@link WorkingDayYear}, so counting
+ * costs a cache lookup and a subtraction per calendar year the range touches. Holiday changes are evicted on all
+ * nodes through database change notifications.
+ */
+@Component
+@Slf4j
+public class WorkingDayCalendar implements CacheInvalidationHandler, MeterBinder {
+
+    public static final String CACHE_REGION = "holiday-calendar";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadingCache<RegionYear, WorkingDayYear> years;
+
+    public WorkingDayCalendar(JdbcTemplate jdbcTemplate, HolidayCalendarProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.years = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build(this::load);
+    }
+
+    public boolean isWorkingDay(String region, LocalDate day) {
+        return year(region, day.getYear()).isWorkingDay(day.getDayOfYear());
+    }
+
+    /**
+     * Working days of the inclusive range in the region.
+     */
+    public int workingDays(String region, LocalDate fromDate, LocalDate toDate) {
+        var days = 0;
+        for (var count : workingDaysPerYear(region, fromDate, toDate).values()) {
+            days += count;
+        }
+        return days;
+    }
+
+    /**
+     * Working days of the inclusive range in the region, split by calendar year.
+     */
+    public Map<Integer, Integer> workingDaysPerYear(String region, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must be before or equal to toDate");
+        }
+        var days = new TreeMap<Integer, Integer>();
+        for (int y = fromDate.getYear(); y <= toDate.getYear(); y++) {
+            var first = y == fromDate.getYear() ? fromDate.getDayOfYear() : 1;
+            var last = y == toDate.getYear() ? toDate.getDayOfYear() : Year.of(y).length();
+            days.put(y, year(region, y).count(first, last));
+        }
+        return days;
+    }
+
+    @Override
+    public String region() {
+        return CACHE_REGION;
+    }
+
+    /**
+     * Evicts all cached years of the holiday region in the key.
+     */
+    @Override
+    public void evict(String key) {
+        log.debug("Evicting cached holiday calendar of region: {}", key);
+        years.asMap().keySet().removeIf(regionYear -> regionYear.region().equals(key));
+    }
+
+    @Override
+    public void evictAll() {
+        years.invalidateAll();
+    }
+
+    /**
+     * Publishes size, hits, misses and evictions as {@code cache.*} meters tagged {@code cache=holiday-calendar}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, years, CACHE_REGION);
+    }
+
+    private WorkingDayYear year(String region, int year) {
+        return years.get(new RegionYear(region, year));
+    }
+
+    private WorkingDayYear load(RegionYear key) {
+        var holidays = jdbcTemplate.queryForList(
+                "SELECT holiday_date FROM public_holiday WHERE region = ? AND holiday_date BETWEEN ? AND ?",
+                LocalDate.class, key.region(), LocalDate.of(key.year(), 1, 1), LocalDate.of(key.year(), 12, 31));
+        log.debug("Loaded {} holidays of region {} for {}", holidays.size(), key.region(), key.year());
+        return WorkingDayYear.of(key.year(), holidays);
+    }
+
+    private record RegionYear(String region, int year) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.common.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Working days of one region and year: a bitset by day of year and the running count of working days before each
+ * day, so the working days of any range within the year are a single subtraction.
+ */
+final class WorkingDayYear {
+
+    private final BitSet workingDays;
+    private final int[] workingDaysBefore;
+
+    private WorkingDayYear(BitSet workingDays, int[] workingDaysBefore) {
+        this.workingDays = workingDays;
+        this.workingDaysBefore = workingDaysBefore;
+    }
+
+    /**
+     * Monday to Friday, except the given holidays. Holidays outside the year are ignored.
+     */
+    static WorkingDayYear of(int year, Collection<LocalDate> holidays) {
+        var length = Year.of(year).length();
+        var workingDays = new BitSet(length);
+        var day = LocalDate.ofYearDay(year, 1);
+        for (int i = 0; i < length; i++, day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                workingDays.set(i);
+            }
+        }
+        for (var holiday : holidays) {
+            if (holiday.getYear() == year) {
+                workingDays.clear(holiday.getDayOfYear() - 1);
+            }
+        }
+
+        var workingDaysBefore = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            workingDaysBefore[i + 1] = workingDaysBefore[i] + (workingDays.get(i) ? 1 : 0);
+        }
+        return new WorkingDayYear(workingDays, workingDaysBefore);
+    }
+
+    boolean isWorkingDay(int dayOfYear) {
+        return workingDays.get(dayOfYear - 1);
+    }
+
+    /**
+     * Working days between the inclusive days of year.
+     */
+    int count(int fromDayOfYear, int toDayOfYear) {
+        return workingDaysBefore[toDayOfYear] - workingDaysBefore[fromDayOfYear - 1];
+    }
+}
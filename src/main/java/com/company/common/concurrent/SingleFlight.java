@@ -0,0 +1,107 @@
+package com.company.common.concurrent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent calls for the same key into one load.
+ * <p>
+ * The first caller for a key runs the loader on its own thread; callers arriving while it runs wait for
+ * its result (or exception) instead of loading again. A waiter that does not get a result within the
+ * timeout loads on its own, so a slow leader never blocks others for longer than that.
+ * Results are shared between the callers of one load and must not be modified.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(Duration timeout) {
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        var own = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, own);
+        if (existing == null) {
+            return lead(key, own, loader);
+        }
+
+        coalesced.increment();
+        try {
+            return existing.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out waiting for in-flight load of {}, loading directly", key);
+            loads.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("In-flight load of " + key + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for load of " + key, e);
+        }
+    }
+
+    /**
+     * Number of loads actually executed.
+     */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Number of calls that joined a load already in flight.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Publishes {@link #loadCount()} and {@link #coalescedCount()} as {@code singleflight.loads} and
+     * {@code singleflight.coalesced}, tagged with the given name.
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("singleflight.loads", loads, LongAdder::sum)
+                .description("Loads actually executed")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("singleflight.coalesced", coalesced, LongAdder::sum)
+                .description("Calls that joined a load already in flight")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private V lead(K key, CompletableFuture<V> own, Supplier<V> loader) {
+        loads.increment();
+        try {
+            var value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+}
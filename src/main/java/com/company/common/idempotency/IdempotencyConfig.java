@@ -0,0 +1,31 @@
+package com.company.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Registers the {@link IdempotencyFilter} behind Spring Security, so it can key requests by the authenticated user.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyKeyStore idempotencyKeyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        return new IdempotencyKeyStore(jdbcTemplate, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyKeyStore store,
+                                                                        IdempotencyProperties properties,
+                                                                        ObjectMapper objectMapper) {
+        var registration = new FilterRegistrationBean<>(new IdempotencyFilter(store, properties, objectMapper));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,237 @@
+package com.company.common.idempotency;
+
+import com.company.auth.model.AuthenticatedUser;
+import com.company.common.api.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Makes API POST requests safe to retry when they carry an {@code Idempotency-Key} header.
+ * <p>
+ * The first request claims the key for the current user and its response is stored. A retry with the same key
+ * gets the stored response replayed without running the request again, or 409 while the first one is still running.
+ * A retry with another method, path or body gets 422. Responses that are worth retrying (5xx, 409) release the key
+ * instead of being stored. A claim that never completes expires after {@link IdempotencyProperties#getClaimLease()},
+ * so a request that died mid-flight does not block its key until the retention runs out.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyKeyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/")
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        var userId = currentUserId();
+        if (userId == null) {
+            // Unauthenticated requests are rejected further down, nothing to deduplicate
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var body = request.getInputStream().readNBytes(properties.getMaxRequestSize() + 1);
+        if (body.length > properties.getMaxRequestSize()) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body with an " + HEADER + " must not exceed " + properties.getMaxRequestSize() + " bytes");
+            return;
+        }
+
+        var requestHash = sha256(body);
+        var token = UUID.randomUUID();
+        if (!store.claim(userId, key, token, request.getMethod(), request.getRequestURI(), requestHash)) {
+            replay(request, response, userId, key, requestHash);
+            return;
+        }
+
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        var stored = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            stored = storeResponse(userId, key, token, responseWrapper);
+        } finally {
+            if (!stored) {
+                store.release(userId, key, token);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean storeResponse(long userId, String key, UUID token, ContentCachingResponseWrapper response) {
+        var status = response.getStatus();
+        if (status >= 500 || status == HttpStatus.CONFLICT.value()) {
+            return false;
+        }
+        if (response.getContentSize() > properties.getMaxResponseSize()) {
+            log.warn("Response of {} bytes too large to store for idempotency key, releasing it", response.getContentSize());
+            return false;
+        }
+        var body = new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+        store.complete(userId, key, token, status, response.getContentType(), body);
+        return true;
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, long userId, String key,
+                        String requestHash) throws IOException {
+
+        var stored = store.find(userId, key).orElse(null);
+        if (stored != null && !stored.matches(request.getMethod(), request.getRequestURI(), requestHash)) {
+            log.warn("Idempotency key reused for another request: {}, by: {}", request.getRequestURI(), userId);
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        if (stored == null || !stored.completed()) {
+            log.info("Request with idempotency key still in progress, by: {}", userId);
+            writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+
+        log.debug("Replaying stored response for idempotency key, by: {}", userId);
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Long currentUserId() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        var body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Serves the request body that was already read for hashing.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var encoding = getCharacterEncoding();
+            var charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.company.common.idempotency;
+
+import com.company.common.query.RequestQueryStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys and their stored responses in the {@code idempotency_key} table.
+ * Every call runs in its own short transaction so a key is visible to concurrent retries as soon as it is claimed.
+ * The statements are not counted against the request's query budget.
+ */
+@Slf4j
+public class IdempotencyKeyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyKeyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Claims the key for a new request under the given token. A key whose request never completed is taken over
+     * once its claim is older than the configured lease.
+     *
+     * @return {@code false} if the key is already taken, by a finished request or one still within its lease
+     */
+    public boolean claim(long userId, String key, UUID token, String method, String path, String requestHash) {
+        return RequestQueryStats.untracked(() -> jdbcTemplate.update("""
+                INSERT INTO idempotency_key (user_id, idempotency_key, claim_token, request_method, request_path,
+                                             request_hash)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                SET claim_token = EXCLUDED.claim_token, claimed_at = NOW(),
+                    request_method = EXCLUDED.request_method, request_path = EXCLUDED.request_path,
+                    request_hash = EXCLUDED.request_hash
+                WHERE idempotency_key.response_status IS NULL
+                  AND idempotency_key.claimed_at < NOW() - ? * INTERVAL '1 second'
+                """, userId, key, token, method, path, requestHash, properties.getClaimLease().toSeconds())) == 1;
+    }
+
+    public Optional<StoredRequest> find(long userId, String key) {
+        return RequestQueryStats.untracked(() -> jdbcTemplate.query("""
+                        SELECT request_method, request_path, request_hash,
+                               response_status, response_content_type, response_body
+                        FROM idempotency_key
+                        WHERE user_id = ? AND idempotency_key = ?
+                        """,
+                (rs, rowNum) -> new StoredRequest(
+                        rs.getString("request_method"),
+                        rs.getString("request_path"),
+                        rs.getString("request_hash"),
+                        (Integer) rs.getObject("response_status"),
+                        rs.getString("response_content_type"),
+                        rs.getString("response_body")),
+                userId, key).stream().findFirst());
+    }
+
+    /**
+     * Stores the response, unless the claim was taken over in the meantime.
+     * <p>
+     * Runs after the business transaction has committed. If the node dies in between, the key stays claimed without
+     * a response and a retry after the lease applies the request again; that window is not covered.
+     */
+    public void complete(long userId, String key, UUID token, int status, String contentType, String body) {
+        RequestQueryStats.untracked(() -> jdbcTemplate.update("""
+                UPDATE idempotency_key
+                SET response_status = ?, response_content_type = ?, response_body = ?
+                WHERE user_id = ? AND idempotency_key = ? AND claim_token = ?
+                """, status, contentType, body, userId, key, token));
+    }
+
+    /**
+     * Gives the key up so the request can be retried, used when it failed without a result worth replaying.
+     * A claim that was taken over in the meantime is left alone.
+     */
+    public void release(long userId, String key, UUID token) {
+        RequestQueryStats.untracked(() -> jdbcTemplate.update(
+                "DELETE FROM idempotency_key WHERE user_id = ? AND idempotency_key = ? AND claim_token = ?",
+                userId, key, token));
+    }
+
+    /**
+     * Drops keys past their retention, including keys of requests that never completed.
+     */
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT10M")
+    public void purgeExpired() {
+        var deleted = jdbcTemplate.update(
+                "DELETE FROM idempotency_key WHERE created_at < NOW() - ? * INTERVAL '1 second'",
+                properties.getRetention().toSeconds());
+        log.debug("Purged {} expired idempotency keys", deleted);
+    }
+
+    public record StoredRequest(String method, String path, String requestHash,
+                                Integer status, String contentType, String body) {
+
+        public boolean completed() {
+            return status != null;
+        }
+
+        /**
+         * Whether a retry is the same request. Keys stored without a body hash only compare method and path.
+         */
+        public boolean matches(String method, String path, String requestHash) {
+            return this.method.equals(method)
+                    && this.path.equals(path)
+                    && (this.requestHash == null || this.requestHash.equals(requestHash));
+        }
+    }
+}
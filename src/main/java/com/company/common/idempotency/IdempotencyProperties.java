@@ -0,0 +1,40 @@
+package com.company.common.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether POST requests with an {@code Idempotency-Key} header are deduplicated.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a key and its stored response are kept. Retries after this are processed again.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * How long a claimed key stays reserved for a request that has not completed. After this the request is assumed
+     * dead and a retry may claim the key again. Must be well above the slowest request, including lock and pool waits,
+     * or a retry is applied a second time while the first request is still running.
+     */
+    private Duration claimLease = Duration.ofMinutes(15);
+
+    /**
+     * Largest response body that is stored for replay. Keys of larger responses are released instead.
+     */
+    private int maxResponseSize = 64 * 1024;
+
+    /**
+     * Largest request body accepted with an {@code Idempotency-Key}. The body is buffered to hash it.
+     */
+    private int maxRequestSize = 64 * 1024;
+}
@@ -0,0 +1,15 @@
+package com.company.common.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers {
+
+    /**
+     * Marks high-volume events, such as per-request reads, that {@link SamplingTurboFilter} may drop.
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets through one in {@code oneIn} events marked with {@link LogMarkers#SAMPLED} and drops the rest
+ * before the message is formatted. Events at WARN and above and unmarked events are never sampled.
+ * <p>
+ * Sampling is random per event, so concurrent requests do not contend on a shared counter.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int oneIn = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (oneIn <= 1 || marker == null || !marker.contains(LogMarkers.SAMPLED) || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(oneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public int getOneIn() {
+        return oneIn;
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+
+    @Override
+    public void start() {
+        if (oneIn < 1) {
+            addError("oneIn must be at least 1, got " + oneIn);
+            return;
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.common.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Name of the timer recorded around every service method, tagged with class and method.
+     */
+    public static final String SERVICE_CALLS = "service.calls";
+
+    /**
+     * Enables {@link io.micrometer.core.annotation.Timed} on service classes.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
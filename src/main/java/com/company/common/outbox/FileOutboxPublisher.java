@@ -0,0 +1,41 @@
+package com.company.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+
+/**
+ * Appends every event to a file as one JSON object per line, for local runs and tests of consumers.
+ */
+@Slf4j
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxPublisher(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        log.info("Publishing outbox events to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(OutboxMessage message) throws IOException {
+        var line = new LinkedHashMap<String, Object>();
+        line.put("id", message.id());
+        line.put("type", message.type());
+        line.put("aggregateType", message.aggregateType());
+        line.put("aggregateId", message.aggregateId());
+        line.put("createdAt", message.createdAt().toString());
+        line.put("payload", objectMapper.readTree(message.payload()));
+
+        Files.writeString(file, objectMapper.writeValueAsString(line) + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
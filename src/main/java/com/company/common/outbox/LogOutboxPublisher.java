@@ -0,0 +1,16 @@
+package com.company.common.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs every event on the {@code outbox} logger, for local runs and tests without a broker.
+ */
+@Slf4j(topic = "outbox")
+public class LogOutboxPublisher implements OutboxPublisher {
+
+    @Override
+    public void publish(OutboxMessage message) {
+        log.info("Outbox event {} {} {}:{} {}", message.id(), message.type(), message.aggregateType(),
+                message.aggregateId(), message.payload());
+    }
+}
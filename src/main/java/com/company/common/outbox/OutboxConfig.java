@@ -0,0 +1,39 @@
+package com.company.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wires the {@link OutboxRelay} with the configured {@link OutboxPublisher}. A publisher bean defined elsewhere, e.g.
+ * for a message broker, replaces the built-in ones.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxPublisher.class)
+    public OutboxPublisher outboxPublisher(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.getPublisher()) {
+            case LOG -> new LogOutboxPublisher();
+            case FILE -> new FileOutboxPublisher(properties.getFile(), objectMapper);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(NamedParameterJdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxPublisher publisher,
+                                   OutboxProperties properties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), publisher, properties,
+                meterRegistry);
+    }
+}
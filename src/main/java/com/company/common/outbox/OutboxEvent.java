@@ -0,0 +1,12 @@
+package com.company.common.outbox;
+
+/**
+ * A domain event to be written to the outbox, serialized to JSON when appended.
+ *
+ * @param aggregateType kind of the changed entity, e.g. {@code absence}
+ * @param aggregateId   id of the changed entity
+ * @param type          what happened, e.g. {@code absence.approved}
+ * @param payload       state of the entity after the change
+ */
+public record OutboxEvent(String aggregateType, Long aggregateId, String type, Object payload) {
+}
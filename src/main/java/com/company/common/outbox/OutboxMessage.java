@@ -0,0 +1,14 @@
+package com.company.common.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox row handed to the {@link OutboxPublisher}. The id grows with every event and identifies redeliveries.
+ */
+public record OutboxMessage(long id,
+                            String aggregateType,
+                            long aggregateId,
+                            String type,
+                            String payload,
+                            LocalDateTime createdAt) {
+}
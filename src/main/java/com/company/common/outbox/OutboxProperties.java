@@ -0,0 +1,66 @@
+package com.company.common.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether this node relays outbox events to the publisher. Events are written either way.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Where relayed events go.
+     */
+    private Publisher publisher = Publisher.LOG;
+
+    /**
+     * Pause between relay runs.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Events locked and published per transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Most batches relayed in one run, so a large backlog does not keep a scheduler thread busy for long.
+     */
+    private int maxBatchesPerRun = 50;
+
+    /**
+     * Failed publish attempts after which an event is parked and skipped, so it stops holding back later events.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * How long published events are kept before they are deleted.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * File the {@code FILE} publisher appends events to, one JSON object per line.
+     */
+    private Path file = Path.of("outbox-events.jsonl");
+
+    public enum Publisher {
+        /**
+         * Logs every event on the {@code outbox} logger.
+         */
+        LOG,
+
+        /**
+         * Appends every event to {@link #file}.
+         */
+        FILE
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.common.outbox;
+
+/**
+ * Delivers outbox messages to downstream systems. Delivery is at least once: a message may be published again when
+ * the relay fails before recording it as published, so consumers deduplicate by {@link OutboxMessage#id()}.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes one message. Throwing stops the current batch; the message is retried on the next run.
+     */
+    void publish(OutboxMessage message) throws Exception;
+}
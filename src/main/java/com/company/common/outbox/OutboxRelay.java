@@ -0,0 +1,149 @@
+package com.company.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+
+/**
+ * Drains the {@code outbox_event} table in id order and hands the events to the {@link OutboxPublisher}.
+ * <p>
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED} and marked as published in the same transaction, so
+ * several nodes can relay at once without publishing the same event twice. A failing event stops its batch; the
+ * events before it are marked and the failing one is retried on the next run. After
+ * {@link OutboxProperties#getMaxAttempts()} failures the event is parked ({@code failed_at} is set) and the relay
+ * moves on past it.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private static final String LOCK_BATCH = """
+            SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at
+            FROM outbox_event
+            WHERE published_at IS NULL
+              AND failed_at IS NULL
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxPublisher publisher;
+    private final OutboxProperties properties;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter parked;
+
+    public OutboxRelay(NamedParameterJdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       OutboxPublisher publisher,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publisher = publisher;
+        this.properties = properties;
+        this.published = Counter.builder("outbox.events.published")
+                .description("Outbox events handed to the publisher")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.publish.failures")
+                .description("Outbox events the publisher failed to deliver")
+                .register(meterRegistry);
+        this.parked = Counter.builder("outbox.events.parked")
+                .description("Outbox events given up on after too many failed attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is drained, a batch fails or the per-run limit is reached.
+     *
+     * @return the number of published events
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT1S}")
+    public int relay() {
+        var total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            var result = transactionTemplate.execute(status -> relayBatch());
+            total += result.published();
+            if (result.failed() || result.published() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Relayed {} outbox events", total);
+        }
+        return total;
+    }
+
+    /**
+     * Deletes published events past their retention.
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT10M")
+    public void purgePublished() {
+        var deleted = jdbcTemplate.update(
+                "DELETE FROM outbox_event WHERE published_at < NOW() - :seconds * INTERVAL '1 second'",
+                new MapSqlParameterSource("seconds", properties.getRetention().toSeconds()));
+        log.debug("Purged {} published outbox events", deleted);
+    }
+
+    private BatchResult relayBatch() {
+        var messages = jdbcTemplate.query(LOCK_BATCH,
+                new MapSqlParameterSource("batchSize", properties.getBatchSize()),
+                (rs, rowNum) -> new OutboxMessage(
+                        rs.getLong("id"),
+                        rs.getString("aggregate_type"),
+                        rs.getLong("aggregate_id"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+
+        var publishedIds = new ArrayList<Long>(messages.size());
+        var failed = false;
+        for (var message : messages) {
+            try {
+                publisher.publish(message);
+                publishedIds.add(message.id());
+            } catch (Exception e) {
+                failures.increment();
+                var attempts = jdbcTemplate.queryForObject("""
+                                UPDATE outbox_event
+                                SET attempts   = attempts + 1,
+                                    last_error = LEFT(:error, 500),
+                                    failed_at  = CASE WHEN attempts + 1 >= :maxAttempts THEN NOW() END
+                                WHERE id = :id
+                                RETURNING attempts
+                                """,
+                        new MapSqlParameterSource()
+                                .addValue("error", String.valueOf(e.getMessage()))
+                                .addValue("maxAttempts", properties.getMaxAttempts())
+                                .addValue("id", message.id()),
+                        Integer.class);
+                if (attempts != null && attempts >= properties.getMaxAttempts()) {
+                    log.error("Parking outbox event {} {} after {} failed attempts", message.id(), message.type(),
+                            attempts, e);
+                    parked.increment();
+                    continue;
+                }
+                log.warn("Failed to publish outbox event {} {}, retrying on the next run", message.id(), message.type(), e);
+                failed = true;
+                break;
+            }
+        }
+
+        if (!publishedIds.isEmpty()) {
+            jdbcTemplate.update("UPDATE outbox_event SET published_at = NOW() WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", publishedIds));
+            published.increment(publishedIds.size());
+        }
+        return new BatchResult(publishedIds.size(), failed);
+    }
+
+    private record BatchResult(int published, boolean failed) {
+    }
+}
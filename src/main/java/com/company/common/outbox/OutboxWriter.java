@@ -0,0 +1,59 @@
+package com.company.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends domain events to the {@code outbox_event} table in the caller's transaction, so an event is stored if and
+ * only if the change it describes commits.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = """
+            INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, ?::jsonb)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEvent event) {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Appends several events in one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Collection<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var rows = events.stream()
+                .map(event -> new Object[]{event.aggregateType(), event.aggregateId(), event.type(), toJson(event)})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private String toJson(OutboxEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + event.type(), e);
+        }
+    }
+}
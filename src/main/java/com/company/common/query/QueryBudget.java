@@ -0,0 +1,23 @@
+package com.company.common.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements one request to the annotated controller method may issue.
+ * Requests above the budget are logged and counted, and fail when {@code query-budget.fail-on-exceed} is set.
+ * Endpoints without a declared budget are checked against {@code query-budget.max-statements}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * Maximum number of statements per request.
+     */
+    int statements();
+}
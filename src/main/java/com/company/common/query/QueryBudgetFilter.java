@@ -0,0 +1,103 @@
+package com.company.common.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link RequestQueryStats} for every API request, publishes them per endpoint and reports requests
+ * that exceed their statement budget ({@link QueryBudget}) or the database time limit.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var stats = RequestQueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.stop();
+        }
+        check(request, stats);
+    }
+
+    private void check(HttpServletRequest request, RequestQueryStats stats) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.requests.db")
+                .description("Database time per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.dbTimeMs(), TimeUnit.MILLISECONDS);
+
+        var budget = budgetOf(request);
+        var overStatements = stats.statements() > budget;
+        var overDbTime = stats.dbTimeMs() > properties.getMaxDbTime().toMillis();
+        if (!overStatements && !overDbTime) {
+            return;
+        }
+
+        var endpoint = request.getMethod() + " " + uri;
+        log.warn("Query budget exceeded by {}: {} (budget {} statements, {} ms)",
+                endpoint, stats, budget, properties.getMaxDbTime().toMillis());
+        Counter.builder("query.budget.exceeded")
+                .description("Requests above their statement budget or database time limit")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .increment();
+
+        // Statement counts are deterministic, database time is not: only the former fails tests
+        if (overStatements && properties.isFailOnExceed()) {
+            throw new IllegalStateException("Query budget exceeded by " + endpoint + ": " + stats.statements()
+                    + " statements, budget " + budget);
+        }
+    }
+
+    private int budgetOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            var budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                return budget.statements();
+            }
+        }
+        return properties.getMaxStatements();
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.common.query;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * Whether statements are counted per request at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statement budget of endpoints without a {@link QueryBudget} of their own.
+     */
+    private int maxStatements = 20;
+
+    /**
+     * Database time per request above which the request is reported.
+     */
+    private Duration maxDbTime = Duration.ofMillis(500);
+
+    /**
+     * Single statements slower than this are logged with their SQL.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Fail requests that exceed their budget instead of only reporting them. Meant for integration tests.
+     */
+    private boolean failOnExceed = false;
+}
@@ -0,0 +1,51 @@
+package com.company.common.query;
+
+import com.company.common.web.CorrelationIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a datasource-proxy that counts statements, rows and database
+ * time per request, and registers the {@link QueryBudgetFilter} that checks them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor(ObjectProvider<QueryBudgetProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                var listener = new QueryStatsListener(properties.getObject());
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties,
+                                                                        MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(new QueryBudgetFilter(properties, meterRegistry));
+        // Right inside the correlation id filter, so the whole request including security and serialization is
+        // counted and budget warnings carry the request id
+        registration.setOrder(CorrelationIdFilter.ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.common.query;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds executed statements into {@link RequestQueryStats} and logs statements slower than the threshold.
+ */
+@Slf4j
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private final long slowQueryThresholdMs;
+
+    public QueryStatsListener(QueryBudgetProperties properties) {
+        this.slowQueryThresholdMs = properties.getSlowQueryThreshold().toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        var elapsedMs = execInfo.getElapsedTime();
+
+        // One execution is one round trip, also for a batch
+        RequestQueryStats.current().ifPresent(stats -> {
+            stats.recordStatement(elapsedMs);
+            stats.recordRows(updatedRows(execInfo.getResult()));
+        });
+
+        if (elapsedMs >= slowQueryThresholdMs && log.isWarnEnabled()) {
+            log.warn("Slow query ({} ms): {}", elapsedMs, queryInfoList.stream()
+                    .map(QueryInfo::getQuery)
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            RequestQueryStats.current().ifPresent(stats -> stats.recordRows(1));
+        }
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof int[] counts) {
+            var sum = 0L;
+            for (var count : counts) {
+                sum += Math.max(0, count);
+            }
+            return sum;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.common.query;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Statement executions (round trips), rows and database time of the request handled by the current thread.
+ * Collected between {@link #start()} and {@link #stop()}; statements outside a request are not counted.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long dbTimeMs;
+
+    private RequestQueryStats() {
+    }
+
+    public static RequestQueryStats start() {
+        var stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Optional<RequestQueryStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs request infrastructure statements that should not count against the endpoint's budget.
+     */
+    public static <T> T untracked(Supplier<T> action) {
+        var stats = CURRENT.get();
+        CURRENT.remove();
+        try {
+            return action.get();
+        } finally {
+            if (stats != null) {
+                CURRENT.set(stats);
+            }
+        }
+    }
+
+    void recordStatement(long elapsedMs) {
+        statements++;
+        dbTimeMs += elapsedMs;
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    /**
+     * Rows read through result sets plus rows reported as changed by updates.
+     */
+    public long rows() {
+        return rows;
+    }
+
+    public long dbTimeMs() {
+        return dbTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + dbTimeMs + " ms";
+    }
+}
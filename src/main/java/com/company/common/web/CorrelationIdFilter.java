@@ -0,0 +1,69 @@
+package com.company.common.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Tags every log line written while handling a request with a correlation id.
+ * <p>
+ * The id is taken from the {@code X-Request-Id} header when the caller sends a usable one, otherwise a new one is
+ * generated. It is echoed back in the response header and exposed to logging as the {@code requestId} MDC key.
+ */
+@Component
+@Order(CorrelationIdFilter.ORDER)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    /**
+     * Outermost filter, so every other filter logs with the request id.
+     */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var requestId = resolveRequestId(request.getHeader(HEADER));
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    static String resolveRequestId(String header) {
+        if (StringUtils.hasText(header) && header.length() <= MAX_LENGTH && isSafe(header)) {
+            return header;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static boolean isSafe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
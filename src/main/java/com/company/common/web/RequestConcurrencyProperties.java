@@ -0,0 +1,35 @@
+package com.company.common.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "request-concurrency")
+public class RequestConcurrencyProperties {
+
+    /**
+     * Maximum number of API requests processed at the same time; 0 derives it from the connection pool size.
+     */
+    private int maxConcurrentRequests = 0;
+
+    /**
+     * Requests admitted per pooled connection when the limit is derived. API requests hold a connection for a few
+     * milliseconds of their lifetime, so 40 per connection (400 for the default pool of 10) keeps the pool busy and
+     * admits twice Tomcat's 200 platform threads, while the queue in front of the pool drains well within the
+     * connection timeout.
+     */
+    private int requestsPerConnection = 40;
+
+    /**
+     * How long a request waits for a free slot before it is rejected with 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    public int limitFor(int poolSize) {
+        return maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize * requestsPerConnection;
+    }
+}
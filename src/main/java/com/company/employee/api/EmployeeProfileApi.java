@@ -1,9 +1,12 @@
 package com.company.employee.api;
 
 import com.company.common.api.ErrorResponse;
+import com.company.employee.dto.EmployeeDirectoryPageDto;
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
 import com.company.employee.dto.EmployeeProfileUpdateRequest;
+import com.company.employee.dto.EmployeeReportDto;
+import com.company.employee.dto.EmployeeSearchPageDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -56,7 +59,8 @@ public interface EmployeeProfileApi {
     @GetMapping("/{employeeId}/profile/public")
     ResponseEntity<EmployeeProfilePublicDto> getPublicProfile(@PathVariable Long employeeId);
 
-    @Operation(summary = "Get all public employee profiles")
+    @Operation(summary = "Get all public employee profiles", deprecated = true,
+            description = "Unbounded list, use the paginated directory instead")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of public employee profiles",
                     content = @Content(
@@ -70,6 +74,58 @@ public interface EmployeeProfileApi {
     @GetMapping("/public")
     ResponseEntity<List<EmployeeProfilePublicDto>> getAllPublicProfiles();
 
+    @Operation(summary = "Get a page of the public employee directory",
+            description = "Ordered by last name. Pass nextCursor of the previous page as cursor to continue.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Directory page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/directory")
+    ResponseEntity<EmployeeDirectoryPageDto> getDirectory(@RequestParam(required = false) String department,
+                                                          @RequestParam(required = false) String jobTitle,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size);
+
+    @Operation(summary = "Search public employee profiles",
+            description = "Matches name, job title, department and skills; tolerates typos. Best matches first. "
+                    + "Pages reach at most the first 10000 results.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search results"),
+            @ApiResponse(responseCode = "400", description = "Blank or too long query, invalid page or size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    ResponseEntity<EmployeeSearchPageDto> searchPublicProfiles(@RequestParam("q") String query,
+                                                               @RequestParam(required = false) Integer page,
+                                                               @RequestParam(required = false) Integer size);
+
+    @Operation(summary = "Get everyone reporting to an employee",
+            description = "Direct and indirect reports, top levels first. Each item carries its direct manager.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reports found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = EmployeeReportDto.class))
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid maxDepth",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{employeeId}/reports")
+    ResponseEntity<List<EmployeeReportDto>> getReports(@PathVariable Long employeeId,
+                                                       @RequestParam(required = false) Integer maxDepth);
+
     @Operation(summary = "Update employee profile")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Profile updated"),
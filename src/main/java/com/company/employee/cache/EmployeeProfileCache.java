@@ -0,0 +1,137 @@
+package com.company.employee.cache;
+
+import com.company.common.cache.CacheInvalidationHandler;
+import com.company.employee.dto.EmployeeProfilePrivateDto;
+import com.company.employee.model.EmployeeProfileChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded cache of full (private) profile snapshots keyed by employee id.
+ * Callers always get their own copy, so cached snapshots cannot be modified from outside.
+ * Entries are evicted after any committed write to the employee or their profile, on this node through
+ * {@link EmployeeProfileChangedEvent} and on all nodes through database change notifications.
+ * <p>
+ * Every eviction bumps an invalidation generation. Loaders read it with {@link #generation(Long)} before reading the
+ * database and store through {@link #putIfCurrent}, which drops a snapshot that was read before a write committed
+ * instead of caching it until the TTL.
+ */
+@Component
+@Slf4j
+public class EmployeeProfileCache implements CacheInvalidationHandler, MeterBinder {
+
+    public static final String REGION = "profile";
+
+    // Generations are striped by employee id; a collision only costs a skipped put
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, EmployeeProfilePrivateDto> profiles;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    public EmployeeProfileCache(ProfileCacheProperties properties) {
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<EmployeeProfilePrivateDto> get(Long employeeId) {
+        return Optional.ofNullable(profiles.getIfPresent(employeeId))
+                .map(profile -> profile.toBuilder().build());
+    }
+
+    public void put(Long employeeId, EmployeeProfilePrivateDto profile) {
+        profiles.put(employeeId, profile.toBuilder().build());
+    }
+
+    /**
+     * Invalidation generation of the employee's entry; changes with every eviction that may affect it.
+     */
+    public long generation(Long employeeId) {
+        return generations.get(stripe(employeeId)) + globalGeneration.get();
+    }
+
+    /**
+     * Caches the snapshot unless the entry was evicted since {@code generation} was read.
+     *
+     * @return {@code false} if the snapshot is stale and was not cached
+     */
+    public boolean putIfCurrent(Long employeeId, long generation, EmployeeProfilePrivateDto profile) {
+        if (generation(employeeId) != generation) {
+            return false;
+        }
+        put(employeeId, profile);
+        // An eviction may have run between the check and the put; it bumps the generation first, so undo the put
+        if (generation(employeeId) != generation) {
+            profiles.invalidate(employeeId);
+            return false;
+        }
+        return true;
+    }
+
+    public void evict(Long employeeId) {
+        log.debug("Evicting cached profile of employee: {}", employeeId);
+        generations.incrementAndGet(stripe(employeeId));
+        profiles.invalidate(employeeId);
+    }
+
+    @Override
+    public void evictAll() {
+        globalGeneration.incrementAndGet();
+        profiles.invalidateAll();
+    }
+
+    /**
+     * Publishes size, hits, misses and evictions as {@code cache.*} meters tagged {@code cache=profile}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profiles, REGION);
+    }
+
+    @Override
+    public String region() {
+        return REGION;
+    }
+
+    @Override
+    public void evict(String key) {
+        evict(Long.valueOf(key));
+    }
+
+    public CacheStats stats() {
+        return profiles.stats();
+    }
+
+    private static int stripe(Long employeeId) {
+        return Long.hashCode(employeeId) & (GENERATION_STRIPES - 1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(EmployeeProfileChangedEvent event) {
+        evict(event.employeeId());
+    }
+
+    @Scheduled(fixedDelayString = "PT5M", initialDelayString = "PT5M")
+    void logStats() {
+        var stats = stats();
+        log.info("Profile cache: size={}, hitRate={}, hits={}, misses={}, evictions={}",
+                profiles.estimatedSize(), String.format("%.2f", stats.hitRate()), stats.hitCount(), stats.missCount(),
+                stats.evictionCount());
+    }
+}
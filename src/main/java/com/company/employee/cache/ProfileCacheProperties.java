@@ -0,0 +1,23 @@
+package com.company.employee.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "profile-cache")
+public class ProfileCacheProperties {
+
+    /**
+     * Maximum number of profiles kept in memory.
+     */
+    private long maximumSize = 10000L;
+
+    /**
+     * How long a cached profile is served before it is reloaded, as a safety net for writes that bypass the application.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -1,9 +1,13 @@
 package com.company.employee.controller;
 
+import com.company.common.query.QueryBudget;
 import com.company.employee.api.EmployeeProfileApi;
+import com.company.employee.dto.EmployeeDirectoryPageDto;
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
 import com.company.employee.dto.EmployeeProfileUpdateRequest;
+import com.company.employee.dto.EmployeeReportDto;
+import com.company.employee.dto.EmployeeSearchPageDto;
 import com.company.employee.service.EmployeeProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -20,30 +24,57 @@ public class EmployeeProfileController implements EmployeeProfileApi {
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 3)
     public ResponseEntity<EmployeeProfilePrivateDto> getMyProfile() {
         return ResponseEntity.ok(employeeProfileService.getMyProfile());
     }
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 4)
     public ResponseEntity<EmployeeProfilePrivateDto> getPrivateProfile(Long employeeId) {
         return ResponseEntity.ok(employeeProfileService.getPrivateProfile(employeeId));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 4)
     public ResponseEntity<EmployeeProfilePublicDto> getPublicProfile(Long employeeId) {
         return ResponseEntity.ok(employeeProfileService.getPublicProfile(employeeId));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 2)
     public ResponseEntity<List<EmployeeProfilePublicDto>> getAllPublicProfiles() {
         return ResponseEntity.ok(employeeProfileService.getAllPublicProfiles());
     }
 
+    @Override
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 2)
+    public ResponseEntity<EmployeeDirectoryPageDto> getDirectory(String department, String jobTitle,
+                                                                 String cursor, Integer size) {
+        return ResponseEntity.ok(employeeProfileService.getDirectory(department, jobTitle, cursor, size));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 3)
+    public ResponseEntity<EmployeeSearchPageDto> searchPublicProfiles(String query, Integer page, Integer size) {
+        return ResponseEntity.ok(employeeProfileService.searchPublicProfiles(query, page, size));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 4)
+    public ResponseEntity<List<EmployeeReportDto>> getReports(Long employeeId, Integer maxDepth) {
+        return ResponseEntity.ok(employeeProfileService.getReports(employeeId, maxDepth));
+    }
+
     @Override
     @PreAuthorize("hasAnyRole('xEMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 9)
     public ResponseEntity<EmployeeProfilePrivateDto> updateProfile(Long employeeId, EmployeeProfileUpdateRequest request) {
         return ResponseEntity.ok(employeeProfileService.updateProfile(employeeId, request));
     }
@@ -0,0 +1,18 @@
+package com.company.employee.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeDirectoryPageDto {
+
+    private List<EmployeeProfilePublicDto> items;
+
+    // Opaque cursor for the next page, null on the last page
+    private String nextCursor;
+}
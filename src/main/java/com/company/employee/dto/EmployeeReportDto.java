@@ -0,0 +1,23 @@
+package com.company.employee.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeReportDto {
+
+    private Long employeeId;
+    // Direct manager, lets clients rebuild the tree
+    private Long managerId;
+    // 1 for direct reports, 2 for their reports and so on
+    private Integer depth;
+
+    private String firstName;
+    private String lastName;
+    private String jobTitle;
+    private String department;
+    private String avatarUrl;
+}
@@ -0,0 +1,20 @@
+package com.company.employee.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSearchPageDto {
+
+    // Best matches first
+    private List<EmployeeProfilePublicDto> items;
+
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -11,6 +11,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "employee")
+@EntityListeners({EmployeeHierarchyListener.class, EmployeeProfileChangeListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +19,11 @@ import java.util.Set;
 @SuperBuilder
 public class Employee extends BaseEntity {
 
+    /**
+     * Holiday region of employees without a specific one.
+     */
+    public static final String DEFAULT_REGION = "DEFAULT";
+
     @OneToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_account_id", nullable = false, unique = true)
     private UserAccount userAccount;
@@ -31,6 +37,13 @@ public class Employee extends BaseEntity {
     @Column(nullable = false, unique = true, length = 150)
     private String email;
 
+    /**
+     * Holiday region whose public holidays are non-working days for the employee.
+     */
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private String region = DEFAULT_REGION;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id")
     private Employee manager;
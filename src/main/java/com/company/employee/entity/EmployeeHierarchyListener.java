@@ -0,0 +1,40 @@
+package com.company.employee.entity;
+
+import com.company.employee.service.OrgHierarchyService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the in-memory org hierarchy in step with reporting-line changes made through JPA.
+ * The patch is applied after commit so rolled back changes never become visible.
+ */
+public class EmployeeHierarchyListener {
+
+    private final ObjectProvider<OrgHierarchyService> orgHierarchyService;
+
+    public EmployeeHierarchyListener(ObjectProvider<OrgHierarchyService> orgHierarchyService) {
+        this.orgHierarchyService = orgHierarchyService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onEmployeeSaved(Employee employee) {
+        var employeeId = employee.getId();
+        var managerId = employee.getManager() != null ? employee.getManager().getId() : null;
+
+        Runnable patch = () -> orgHierarchyService.ifAvailable(service -> service.onManagerChanged(employeeId, managerId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    patch.run();
+                }
+            });
+        } else {
+            patch.run();
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(name = "employee_profile")
+@EntityListeners(EmployeeProfileChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,35 @@
+package com.company.employee.entity;
+
+import com.company.employee.model.EmployeeProfileChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Announces writes to employees and their profiles so cached profile snapshots can be evicted.
+ */
+public class EmployeeProfileChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EmployeeProfileChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(Object entity) {
+        Long employeeId = null;
+        if (entity instanceof Employee employee) {
+            employeeId = employee.getId();
+        } else if (entity instanceof EmployeeProfile profile && profile.getEmployee() != null) {
+            employeeId = profile.getEmployee().getId();
+        }
+
+        if (employeeId != null) {
+            eventPublisher.publishEvent(new EmployeeProfileChangedEvent(employeeId));
+        }
+    }
+}
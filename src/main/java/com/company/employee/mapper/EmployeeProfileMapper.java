@@ -2,7 +2,10 @@ package com.company.employee.mapper;
 
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
+import com.company.employee.dto.EmployeeReportDto;
 import com.company.employee.entity.EmployeeProfile;
+import com.company.employee.repository.EmployeeProfilePublicView;
+import com.company.employee.repository.EmployeeReportView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
@@ -32,4 +35,14 @@ public interface EmployeeProfileMapper {
     EmployeeProfilePublicDto toPublicDto(EmployeeProfile profile);
 
     List<EmployeeProfilePublicDto> toPublicDtoList(List<EmployeeProfile> profiles);
+
+    EmployeeProfilePublicDto toPublicDto(EmployeeProfilePublicView view);
+
+    EmployeeProfilePublicDto toPublicDto(EmployeeProfilePrivateDto privateDto);
+
+    List<EmployeeProfilePublicDto> viewsToPublicDtoList(List<EmployeeProfilePublicView> views);
+
+    EmployeeReportDto toReportDto(EmployeeReportView view);
+
+    List<EmployeeReportDto> toReportDtoList(List<EmployeeReportView> views);
 }
@@ -0,0 +1,7 @@
+package com.company.employee.model;
+
+/**
+ * Published whenever an employee or their profile is written through JPA.
+ */
+public record EmployeeProfileChangedEvent(Long employeeId) {
+}
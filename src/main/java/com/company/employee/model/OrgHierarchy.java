@@ -0,0 +1,163 @@
+package com.company.employee.model;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Immutable snapshot of the reporting lines: employee to manager and manager to direct reports.
+ * <p>
+ * Employee ids are resolved to dense positions through an open-addressing hash table over primitive longs,
+ * direct reports are stored as one contiguous array with per-manager offsets. All lookups are O(1)
+ * (apart from copying the reports) and allocation free.
+ */
+public final class OrgHierarchy {
+
+    private static final long NO_MANAGER = 0L;
+    private static final long EMPTY_SLOT = 0L;
+
+    private static final OrgHierarchy EMPTY = of(new long[0], new long[0]);
+
+    // position -> employee id / manager id (NO_MANAGER when none)
+    private final long[] employeeIds;
+    private final long[] managerIds;
+
+    // direct reports of the employee at position p are reportIds[reportOffsets[p] .. reportOffsets[p + 1])
+    private final int[] reportOffsets;
+    private final long[] reportIds;
+
+    // open-addressing table: employee id -> position
+    private final long[] slotKeys;
+    private final int[] slotPositions;
+    private final int slotMask;
+
+    private OrgHierarchy(long[] employeeIds, long[] managerIds) {
+        this.employeeIds = employeeIds;
+        this.managerIds = managerIds;
+
+        var capacity = Integer.highestOneBit(Math.max(4, employeeIds.length * 2 - 1)) << 1;
+        this.slotKeys = new long[capacity];
+        this.slotPositions = new int[capacity];
+        this.slotMask = capacity - 1;
+        for (int position = 0; position < employeeIds.length; position++) {
+            var employeeId = employeeIds[position];
+            if (employeeId <= 0) {
+                throw new IllegalArgumentException("Employee ids must be positive: " + employeeId);
+            }
+            var slot = slotOf(employeeId);
+            while (slotKeys[slot] != EMPTY_SLOT) {
+                if (slotKeys[slot] == employeeId) {
+                    throw new IllegalArgumentException("Duplicate employee id: " + employeeId);
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            slotKeys[slot] = employeeId;
+            slotPositions[slot] = position;
+        }
+
+        var counts = new int[employeeIds.length + 1];
+        for (var managerId : managerIds) {
+            var managerPosition = positionOf(managerId);
+            if (managerPosition >= 0) {
+                counts[managerPosition + 1]++;
+            }
+        }
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+        this.reportOffsets = counts;
+        this.reportIds = new long[counts[counts.length - 1]];
+        var fill = Arrays.copyOf(counts, employeeIds.length);
+        for (int position = 0; position < employeeIds.length; position++) {
+            var managerPosition = positionOf(managerIds[position]);
+            if (managerPosition >= 0) {
+                reportIds[fill[managerPosition]++] = employeeIds[position];
+            }
+        }
+    }
+
+    public static OrgHierarchy empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from parallel arrays. A manager id of {@code 0} means "no manager".
+     */
+    public static OrgHierarchy of(long[] employeeIds, long[] managerIds) {
+        if (employeeIds.length != managerIds.length) {
+            throw new IllegalArgumentException("employeeIds and managerIds must have the same length");
+        }
+        return new OrgHierarchy(employeeIds.clone(), managerIds.clone());
+    }
+
+    public int size() {
+        return employeeIds.length;
+    }
+
+    public boolean contains(long employeeId) {
+        return positionOf(employeeId) >= 0;
+    }
+
+    public boolean isManagerOf(long managerId, long employeeId) {
+        var position = positionOf(employeeId);
+        return position >= 0 && managerId != NO_MANAGER && managerIds[position] == managerId;
+    }
+
+    public OptionalLong managerOf(long employeeId) {
+        var position = positionOf(employeeId);
+        if (position < 0 || managerIds[position] == NO_MANAGER) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(managerIds[position]);
+    }
+
+    public long[] reportsOf(long managerId) {
+        var position = positionOf(managerId);
+        if (position < 0) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(reportIds, reportOffsets[position], reportOffsets[position + 1]);
+    }
+
+    /**
+     * Copy of this snapshot in which the given employee reports to the given manager
+     * ({@code null} for none). Unknown employees are added.
+     */
+    public OrgHierarchy withManager(long employeeId, Long managerId) {
+        var newManagerId = managerId != null ? managerId : NO_MANAGER;
+        var position = positionOf(employeeId);
+        if (position >= 0) {
+            if (managerIds[position] == newManagerId) {
+                return this;
+            }
+            var updatedManagerIds = managerIds.clone();
+            updatedManagerIds[position] = newManagerId;
+            return new OrgHierarchy(employeeIds, updatedManagerIds);
+        }
+
+        var updatedEmployeeIds = Arrays.copyOf(employeeIds, employeeIds.length + 1);
+        var updatedManagerIds = Arrays.copyOf(managerIds, managerIds.length + 1);
+        updatedEmployeeIds[employeeIds.length] = employeeId;
+        updatedManagerIds[managerIds.length] = newManagerId;
+        return new OrgHierarchy(updatedEmployeeIds, updatedManagerIds);
+    }
+
+    private int positionOf(long employeeId) {
+        if (employeeId == EMPTY_SLOT) {
+            return -1;
+        }
+        var slot = slotOf(employeeId);
+        while (slotKeys[slot] != EMPTY_SLOT) {
+            if (slotKeys[slot] == employeeId) {
+                return slotPositions[slot];
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return -1;
+    }
+
+    private int slotOf(long employeeId) {
+        // Fibonacci hashing spreads sequential ids across the table
+        var hash = employeeId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & slotMask;
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.employee.repository;
+
+/**
+ * Reporting line of a single employee; the manager id is null for the top of the hierarchy.
+ */
+public interface EmployeeManagerLink {
+
+    Long getEmployeeId();
+
+    Long getManagerId();
+}
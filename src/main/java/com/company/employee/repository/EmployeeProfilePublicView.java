@@ -0,0 +1,23 @@
+package com.company.employee.repository;
+
+/**
+ * Column projection of the public part of a profile and its employee, for native queries.
+ */
+public interface EmployeeProfilePublicView {
+
+    Long getEmployeeId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getJobTitle();
+
+    String getDepartment();
+
+    String getSkills();
+
+    String getBio();
+
+    String getAvatarUrl();
+}
@@ -1,13 +1,81 @@
 package com.company.employee.repository;
 
 import com.company.employee.entity.EmployeeProfile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeProfileRepository extends JpaRepository<EmployeeProfile, Long> {
 
+    /**
+     * Profile together with its employee, as needed by the profile DTOs.
+     */
+    @EntityGraph(attributePaths = "employee")
     Optional<EmployeeProfile> findByEmployeeId(Long employeeId);
+
+    /**
+     * All profiles together with their employees, loaded in one query.
+     */
+    @Override
+    @EntityGraph(attributePaths = "employee")
+    List<EmployeeProfile> findAll();
+
+    /**
+     * First page of the directory, ordered by (last name, employee id).
+     * Null filters are ignored.
+     */
+    @Query("""
+            select p from EmployeeProfile p
+            join fetch p.employee e
+            where (:department is null or p.department = :department)
+              and (:jobTitle is null or p.jobTitle = :jobTitle)
+            order by e.lastName asc, e.id asc
+            """)
+    List<EmployeeProfile> findDirectoryFirstPage(@Param("department") String department,
+                                                 @Param("jobTitle") String jobTitle,
+                                                 Pageable pageable);
+
+    /**
+     * Directory page following the given (last name, employee id) keyset position.
+     * Null filters are ignored.
+     */
+    @Query("""
+            select p from EmployeeProfile p
+            join fetch p.employee e
+            where (:department is null or p.department = :department)
+              and (:jobTitle is null or p.jobTitle = :jobTitle)
+              and (e.lastName > :lastName or (e.lastName = :lastName and e.id > :employeeId))
+            order by e.lastName asc, e.id asc
+            """)
+    List<EmployeeProfile> findDirectoryPageAfter(@Param("department") String department,
+                                                 @Param("jobTitle") String jobTitle,
+                                                 @Param("lastName") String lastName,
+                                                 @Param("employeeId") Long employeeId,
+                                                 Pageable pageable);
+
+    /**
+     * Ranked full-text and fuzzy search over name, job title, department and skills.
+     * Backed by the {@code search_employee_profiles} database function.
+     */
+    @Query(value = """
+            SELECT s.employee_id AS "employeeId",
+                   s.first_name  AS "firstName",
+                   s.last_name   AS "lastName",
+                   s.job_title   AS "jobTitle",
+                   s.department  AS "department",
+                   s.skills      AS "skills",
+                   s.bio         AS "bio",
+                   s.avatar_url  AS "avatarUrl"
+            FROM search_employee_profiles(:query, :limit, :offset) s
+            """, nativeQuery = true)
+    List<EmployeeProfilePublicView> search(@Param("query") String query,
+                                           @Param("limit") int limit,
+                                           @Param("offset") int offset);
 }
@@ -0,0 +1,23 @@
+package com.company.employee.repository;
+
+/**
+ * Column projection of an employee somewhere below a manager, for native queries.
+ */
+public interface EmployeeReportView {
+
+    Long getEmployeeId();
+
+    Long getManagerId();
+
+    Integer getDepth();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getJobTitle();
+
+    String getDepartment();
+
+    String getAvatarUrl();
+}
@@ -2,8 +2,57 @@ package com.company.employee.repository;
 
 import com.company.employee.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    /**
+     * Reporting lines of all employees, without loading the entities.
+     */
+    @Query("select e.id as employeeId, m.id as managerId from Employee e left join e.manager m")
+    List<EmployeeManagerLink> findAllManagerLinks();
+
+    /**
+     * Reporting line of a single employee, empty if the employee does not exist.
+     */
+    @Query("select e.id as employeeId, m.id as managerId from Employee e left join e.manager m where e.id = :employeeId")
+    Optional<EmployeeManagerLink> findManagerLink(@Param("employeeId") Long employeeId);
+
+    /**
+     * Whether the employee reports to the given manager, directly or through any number of levels.
+     */
+    @Query(value = """
+            SELECT EXISTS(SELECT 1
+                          FROM employee_reporting_closure c
+                          WHERE c.ancestor_id = :ancestorId
+                            AND c.descendant_id = :employeeId)
+            """, nativeQuery = true)
+    boolean isInReportingChain(@Param("ancestorId") Long ancestorId, @Param("employeeId") Long employeeId);
+
+    /**
+     * Everyone below the given manager down to the given depth, top levels first.
+     */
+    @Query(value = """
+            SELECT e.id         AS "employeeId",
+                   e.manager_id AS "managerId",
+                   c.depth      AS "depth",
+                   e.first_name AS "firstName",
+                   e.last_name  AS "lastName",
+                   p.job_title  AS "jobTitle",
+                   p.department AS "department",
+                   p.avatar_url AS "avatarUrl"
+            FROM employee_reporting_closure c
+                     JOIN employee e ON e.id = c.descendant_id
+                     LEFT JOIN employee_profile p ON p.employee_id = e.id
+            WHERE c.ancestor_id = :managerId
+              AND c.depth <= :maxDepth
+            ORDER BY c.depth, e.last_name, e.id
+            """, nativeQuery = true)
+    List<EmployeeReportView> findReportsUnder(@Param("managerId") Long managerId, @Param("maxDepth") int maxDepth);
 }
@@ -1,8 +1,11 @@
 package com.company.employee.service;
 
+import com.company.employee.dto.EmployeeDirectoryPageDto;
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
 import com.company.employee.dto.EmployeeProfileUpdateRequest;
+import com.company.employee.dto.EmployeeReportDto;
+import com.company.employee.dto.EmployeeSearchPageDto;
 
 import java.util.List;
 
@@ -14,7 +17,7 @@ public interface EmployeeProfileService {
     EmployeeProfilePrivateDto getMyProfile();
 
     /**
-     * Private profile of any employee (for managers / self).
+     * Private profile of any employee (for managers anywhere up the reporting chain / self).
      */
     EmployeeProfilePrivateDto getPrivateProfile(Long employeeId);
 
@@ -25,12 +28,31 @@ public interface EmployeeProfileService {
 
     /**
      * Public profile of all employees.
+     * Unbounded, prefer {@link #getDirectory(String, String, String, Integer)}.
      */
     List<EmployeeProfilePublicDto> getAllPublicProfiles();
 
+    /**
+     * One page of public profiles ordered by last name, optionally filtered by department and job title.
+     * Pass the cursor of the previous page to continue; page size is bounded.
+     */
+    EmployeeDirectoryPageDto getDirectory(String department, String jobTitle, String cursor, Integer size);
+
+    /**
+     * Public profiles matching a free-text query on name, job title, department and skills, best match first.
+     * Tolerates typos and partial words.
+     */
+    EmployeeSearchPageDto searchPublicProfiles(String query, Integer page, Integer size);
+
+    /**
+     * Everyone reporting to the given employee, directly or indirectly, down to maxDepth levels.
+     * Restricted to the employee and their managers up the reporting chain.
+     */
+    List<EmployeeReportDto> getReports(Long employeeId, Integer maxDepth);
+
     /**
      * Update profile data for the given employee.
-     * Restricted to profile owner, their manager.
+     * Restricted to profile owner, their direct manager.
      */
     EmployeeProfilePrivateDto updateProfile(Long employeeId, EmployeeProfileUpdateRequest request);
 }
@@ -0,0 +1,30 @@
+package com.company.employee.service;
+
+public interface OrgHierarchyService {
+
+    /**
+     * Whether the given manager is the direct manager of the given employee. False if either id is null.
+     */
+    boolean isManagerOf(Long managerId, Long employeeId);
+
+    /**
+     * Whether the employee reports to the given manager directly or through any number of levels.
+     * False if either id is null.
+     */
+    boolean isInReportingChain(Long ancestorId, Long employeeId);
+
+    /**
+     * Ids of the direct reports of the given manager.
+     */
+    long[] reportsOf(Long managerId);
+
+    /**
+     * Applies a changed reporting line to the in-memory hierarchy without reloading it.
+     */
+    void onManagerChanged(Long employeeId, Long managerId);
+
+    /**
+     * Reloads the whole hierarchy from the database.
+     */
+    void refresh();
+}
@@ -0,0 +1,33 @@
+package com.company.employee.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the employee directory, which is ordered by (last name, employee id).
+ * Clients only ever see the encoded, opaque form.
+ */
+record EmployeeDirectoryCursor(String lastName, Long employeeId) {
+
+    private static final char SEPARATOR = '\n';
+
+    String encode() {
+        var raw = lastName + SEPARATOR + employeeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EmployeeDirectoryCursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Invalid directory cursor");
+            }
+            return new EmployeeDirectoryCursor(
+                    raw.substring(0, separatorIndex),
+                    Long.valueOf(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid directory cursor");
+        }
+    }
+}
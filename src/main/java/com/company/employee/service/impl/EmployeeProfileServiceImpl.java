@@ -2,100 +2,260 @@ package com.company.employee.service.impl;
 
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.security.SecurityUtils;
+import com.company.common.concurrent.SingleFlight;
+import com.company.common.logging.LogMarkers;
+import com.company.common.metrics.MetricsConfig;
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxWriter;
+import com.company.employee.cache.EmployeeProfileCache;
+import com.company.employee.dto.EmployeeDirectoryPageDto;
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
 import com.company.employee.dto.EmployeeProfileUpdateRequest;
+import com.company.employee.dto.EmployeeReportDto;
+import com.company.employee.dto.EmployeeSearchPageDto;
 import com.company.employee.entity.Employee;
 import com.company.employee.entity.EmployeeProfile;
 import com.company.employee.mapper.EmployeeProfileMapper;
 import com.company.employee.repository.EmployeeProfileRepository;
 import com.company.employee.repository.EmployeeRepository;
 import com.company.employee.service.EmployeeProfileService;
+import com.company.employee.service.OrgHierarchyService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
+@Timed(MetricsConfig.SERVICE_CALLS)
 @Slf4j
 public class EmployeeProfileServiceImpl implements EmployeeProfileService {
 
+    static final int DEFAULT_DIRECTORY_PAGE_SIZE = 50;
+    static final int MAX_DIRECTORY_PAGE_SIZE = 200;
+
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    static final int MAX_SEARCH_PAGE_SIZE = 50;
+    static final int MAX_SEARCH_QUERY_LENGTH = 100;
+
+    /**
+     * Deepest search result reachable by paging, keeps the OFFSET scan bounded. Deeper hits need a narrower query.
+     */
+    static final int MAX_SEARCH_OFFSET = 10_000;
+
+    static final int MAX_REPORTS_DEPTH = 20;
+
+    static final Duration PROFILE_LOAD_TIMEOUT = Duration.ofSeconds(2);
+
     private final EmployeeRepository employeeRepository;
     private final EmployeeProfileRepository employeeProfileRepository;
     private final EmployeeProfileMapper employeeProfileMapper;
+    private final OrgHierarchyService orgHierarchyService;
+    private final EmployeeProfileCache profileCache;
+    private final OutboxWriter outboxWriter;
+
+    // Concurrent cache misses for the same employee share one database load, unless an eviction came in between
+    private final SingleFlight<ProfileLoadKey, EmployeeProfilePrivateDto> profileLoads =
+            new SingleFlight<>(PROFILE_LOAD_TIMEOUT);
+
+    public EmployeeProfileServiceImpl(EmployeeRepository employeeRepository,
+                                      EmployeeProfileRepository employeeProfileRepository,
+                                      EmployeeProfileMapper employeeProfileMapper,
+                                      OrgHierarchyService orgHierarchyService,
+                                      EmployeeProfileCache profileCache,
+                                      OutboxWriter outboxWriter,
+                                      MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeProfileRepository = employeeProfileRepository;
+        this.employeeProfileMapper = employeeProfileMapper;
+        this.orgHierarchyService = orgHierarchyService;
+        this.profileCache = profileCache;
+        this.outboxWriter = outboxWriter;
+        profileLoads.bindTo(meterRegistry, "profile");
+    }
 
+    // Profile reads run outside a service transaction so that requests waiting on a shared load hold no connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public EmployeeProfilePrivateDto getMyProfile() {
         var user = SecurityUtils.getCurrentUser();
 
-        log.info("Retrieving user profile, by" + user.getUserId());
+        log.info(LogMarkers.SAMPLED, "Retrieving user profile, by: {}", user.getUserId());
 
         var employeeId = user.getEmployeeId();
         if (employeeId == null) {
             log.error("Authenticated user has no employeeId assigned");
             throw new IllegalStateException("Authenticated user has no employeeId assigned");
         }
-        var profile = findProfileByEmployeeIdOrThrow(employeeId);
-        return employeeProfileMapper.toPrivateDto(profile);
+        return profileCache.get(employeeId)
+                .orElseGet(() -> loadProfileSnapshot(employeeId));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public EmployeeProfilePrivateDto getPrivateProfile(Long employeeId) {
         var user = SecurityUtils.getCurrentUser();
 
-        log.info("Retrieving private profile of employee:" + employeeId + ", by: " + user.getUserId());
+        log.info(LogMarkers.SAMPLED, "Retrieving private profile of employee: {}, by: {}", employeeId, user.getUserId());
 
-        var targetEmployee = findEmployeeOrThrow(employeeId);
+        // A cached snapshot proves the employee exists, so only the access check remains
+        var cached = profileCache.get(employeeId);
+        if (cached.isEmpty()) {
+            findEmployeeOrThrow(employeeId);
+        }
 
-        if (!canViewPrivateProfile(user, targetEmployee)) {
+        if (!canViewPrivateProfile(user, employeeId)) {
             log.error("Not allowed to view private profile of this employee");
             throw new AccessDeniedException("Not allowed to view private profile of this employee");
         }
 
-        var profile = findProfileByEmployeeIdOrThrow(employeeId);
-        return employeeProfileMapper.toPrivateDto(profile);
+        return cached.orElseGet(() -> loadProfileSnapshot(employeeId));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public EmployeeProfilePublicDto getPublicProfile(Long employeeId) {
         var user = SecurityUtils.getCurrentUser();
 
-        log.info("Retrieving public profile of employee:" + employeeId + ", by: " + user.getUserId());
-
-        findEmployeeOrThrow(employeeId);
+        log.info(LogMarkers.SAMPLED, "Retrieving public profile of employee: {}, by: {}", employeeId, user.getUserId());
 
-        var profile = findProfileByEmployeeIdOrThrow(employeeId);
-        return employeeProfileMapper.toPublicDto(profile);
+        var snapshot = profileCache.get(employeeId)
+                .orElseGet(() -> loadProfileSnapshot(employeeId));
+        return employeeProfileMapper.toPublicDto(snapshot);
     }
 
     @Override
     public List<EmployeeProfilePublicDto> getAllPublicProfiles() {
         var user = SecurityUtils.getCurrentUser();
 
-        log.info("Retrieving all employees public profiles, by: " + user.getUserId());
+        log.info(LogMarkers.SAMPLED, "Retrieving all employees public profiles, by: {}", user.getUserId());
 
         var allProfiles = employeeProfileRepository.findAll();
         return employeeProfileMapper.toPublicDtoList(allProfiles);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeDirectoryPageDto getDirectory(String department, String jobTitle, String cursor, Integer size) {
+        var user = SecurityUtils.getCurrentUser();
+
+        log.info(LogMarkers.SAMPLED, "Retrieving employee directory page, by: {}", user.getUserId());
+
+        var pageSize = resolvePageSize(size, DEFAULT_DIRECTORY_PAGE_SIZE, MAX_DIRECTORY_PAGE_SIZE);
+        // Fetch one extra row to find out whether there is a next page
+        var pageable = PageRequest.of(0, pageSize + 1);
+        var departmentFilter = StringUtils.hasText(department) ? department : null;
+        var jobTitleFilter = StringUtils.hasText(jobTitle) ? jobTitle : null;
+
+        List<EmployeeProfile> rows;
+        if (StringUtils.hasText(cursor)) {
+            var position = EmployeeDirectoryCursor.decode(cursor);
+            rows = employeeProfileRepository.findDirectoryPageAfter(
+                    departmentFilter, jobTitleFilter, position.lastName(), position.employeeId(), pageable);
+        } else {
+            rows = employeeProfileRepository.findDirectoryFirstPage(departmentFilter, jobTitleFilter, pageable);
+        }
+
+        var hasNext = rows.size() > pageSize;
+        var pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = pageRows.get(pageRows.size() - 1).getEmployee();
+            nextCursor = new EmployeeDirectoryCursor(last.getLastName(), last.getId()).encode();
+        }
+
+        return EmployeeDirectoryPageDto.builder()
+                .items(employeeProfileMapper.toPublicDtoList(pageRows))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeSearchPageDto searchPublicProfiles(String query, Integer page, Integer size) {
+        var user = SecurityUtils.getCurrentUser();
+
+        log.info(LogMarkers.SAMPLED, "Searching employee profiles, by: {}", user.getUserId());
+
+        if (!StringUtils.hasText(query)) {
+            log.error("Validation failed: search query must not be blank");
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        var trimmedQuery = query.strip();
+        if (trimmedQuery.length() > MAX_SEARCH_QUERY_LENGTH) {
+            log.error("Validation failed: search query too long");
+            throw new IllegalArgumentException("q must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        var pageNumber = page != null ? page : 0;
+        if (pageNumber < 0) {
+            log.error("Validation failed: page must not be negative");
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        var pageSize = resolvePageSize(size, DEFAULT_SEARCH_PAGE_SIZE, MAX_SEARCH_PAGE_SIZE);
+        if ((long) pageNumber * pageSize > MAX_SEARCH_OFFSET) {
+            log.error("Validation failed: search page {} of size {} is beyond the offset limit", pageNumber, pageSize);
+            throw new IllegalArgumentException("page must not reach beyond the first " + MAX_SEARCH_OFFSET + " results");
+        }
+
+        // Fetch one extra row to find out whether there is a next page
+        var rows = employeeProfileRepository.search(trimmedQuery, pageSize + 1, pageNumber * pageSize);
+
+        var hasNext = rows.size() > pageSize;
+        var pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return EmployeeSearchPageDto.builder()
+                .items(employeeProfileMapper.viewsToPublicDtoList(pageRows))
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeReportDto> getReports(Long employeeId, Integer maxDepth) {
+        var user = SecurityUtils.getCurrentUser();
+
+        log.info(LogMarkers.SAMPLED, "Retrieving reports of employee: {}, by: {}", employeeId, user.getUserId());
+
+        var depth = maxDepth != null ? maxDepth : MAX_REPORTS_DEPTH;
+        if (depth < 1) {
+            log.error("Validation failed: maxDepth must be positive");
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+
+        findEmployeeOrThrow(employeeId);
+
+        if (!canViewPrivateProfile(user, employeeId)) {
+            log.error("Not allowed to view reports of this employee");
+            throw new AccessDeniedException("Not allowed to view reports of this employee");
+        }
+
+        var rows = employeeRepository.findReportsUnder(employeeId, Math.min(depth, MAX_REPORTS_DEPTH));
+        return employeeProfileMapper.toReportDtoList(rows);
+    }
+
     @Override
     public EmployeeProfilePrivateDto updateProfile(Long employeeId, EmployeeProfileUpdateRequest request) {
         var user = SecurityUtils.getCurrentUser();
 
-        log.info("Attempting to update employee profile:" + employeeId + ", by: " + user.getUserId());
+        log.info("Attempting to update employee profile: {}, by: {}", employeeId, user.getUserId());
 
-        var employee = findEmployeeOrThrow(employeeId);
+        findEmployeeOrThrow(employeeId);
 
-        if (!canEditProfile(user, employee)) {
+        if (!canEditProfile(user, employeeId)) {
             log.error("Not allowed to edit this profile");
             throw new AccessDeniedException("Not allowed to edit this profile");
         }
@@ -105,38 +265,86 @@ public class EmployeeProfileServiceImpl implements EmployeeProfileService {
         applyUpdates(profile, request);
 
         var saved = employeeProfileRepository.save(profile);
-        return employeeProfileMapper.toPrivateDto(saved);
+        var dto = employeeProfileMapper.toPrivateDto(saved);
+        outboxWriter.append(new OutboxEvent("employee-profile", employeeId, "employee-profile.updated", dto));
+        return dto;
     }
 
     private Employee findEmployeeOrThrow(Long employeeId) {
         return employeeRepository.findById(employeeId)
                 .orElseThrow(() -> {
-                    log.error("Employee not found: " + employeeId);
+                    log.error("Employee not found: {}", employeeId);
                     return new EntityNotFoundException("Employee not found: " + employeeId);
                 });
     }
 
+    /**
+     * Loads the full profile and caches it. Concurrent callers for the same employee share one load.
+     * Fails with "Employee not found" or "Profile not found" like the separate lookups.
+     * <p>
+     * The load is keyed by the cache generation read before it starts: a caller arriving after an eviction starts a
+     * fresh load instead of joining one that may have read the old row, and the old load's result is not cached.
+     */
+    private EmployeeProfilePrivateDto loadProfileSnapshot(Long employeeId) {
+        var generation = profileCache.generation(employeeId);
+        return profileLoads.execute(new ProfileLoadKey(employeeId, generation), () -> {
+            var profile = employeeProfileRepository.findByEmployeeId(employeeId)
+                    .orElseGet(() -> {
+                        // Tell a missing employee apart from a missing profile
+                        findEmployeeOrThrow(employeeId);
+                        log.error("Profile not found for employee: {}", employeeId);
+                        throw new EntityNotFoundException("Profile not found for employee: " + employeeId);
+                    });
+            var snapshot = employeeProfileMapper.toPrivateDto(profile);
+            if (!profileCache.putIfCurrent(employeeId, generation, snapshot)) {
+                log.debug("Not caching profile of employee {} evicted during load", employeeId);
+            }
+            return snapshot;
+        });
+    }
+
+    private record ProfileLoadKey(Long employeeId, long generation) {
+    }
+
     private EmployeeProfile findProfileByEmployeeIdOrThrow(Long employeeId) {
         return employeeProfileRepository.findByEmployeeId(employeeId)
                 .orElseThrow(() -> {
-                    log.error("Profile not found for employee: " + employeeId);
+                    log.error("Profile not found for employee: {}", employeeId);
                     return new EntityNotFoundException("Profile not found for employee: " + employeeId);
                 });
     }
 
-    private boolean canViewPrivateProfile(AuthenticatedUser user, Employee targetEmployee) {
+    private int resolvePageSize(Integer size, int defaultSize, int maxSize) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1) {
+            log.error("Validation failed: page size must be positive");
+            throw new IllegalArgumentException("size must be positive");
+        }
+        return Math.min(size, maxSize);
+    }
+
+    private boolean canViewPrivateProfile(AuthenticatedUser user, Long targetEmployeeId) {
         var currentEmpId = user.getEmployeeId();
-        if (currentEmpId != null && currentEmpId.equals(targetEmployee.getId())) {
+        if (currentEmpId != null && currentEmpId.equals(targetEmployeeId)) {
             log.debug("Current user can view their own private profile");
             return true;
         }
 
-        var manager = targetEmployee.getManager();
-        return manager != null && manager.getId().equals(currentEmpId);
+        return orgHierarchyService.isInReportingChain(currentEmpId, targetEmployeeId);
     }
 
-    private boolean canEditProfile(AuthenticatedUser user, Employee targetEmployee) {
-        return canViewPrivateProfile(user, targetEmployee);
+    /**
+     * Edits stay with the owner and the direct manager; skip-level managers can only view.
+     */
+    private boolean canEditProfile(AuthenticatedUser user, Long targetEmployeeId) {
+        var currentEmpId = user.getEmployeeId();
+        if (currentEmpId != null && currentEmpId.equals(targetEmployeeId)) {
+            return true;
+        }
+
+        return orgHierarchyService.isManagerOf(currentEmpId, targetEmployeeId);
     }
 
     private void applyUpdates(EmployeeProfile profile, EmployeeProfileUpdateRequest request) {
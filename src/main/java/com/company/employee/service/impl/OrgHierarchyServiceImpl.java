@@ -0,0 +1,190 @@
+package com.company.employee.service.impl;
+
+import com.company.common.cache.CacheInvalidationHandler;
+import com.company.employee.model.OrgHierarchy;
+import com.company.employee.repository.EmployeeManagerLink;
+import com.company.employee.repository.EmployeeRepository;
+import com.company.employee.service.OrgHierarchyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers reporting-line questions from an in-memory {@link OrgHierarchy} snapshot.
+ * The snapshot is loaded on first use, reloaded periodically as a safety net and patched
+ * in place when a reporting line changes. Employees missing from the snapshot are looked up
+ * individually and added. Changes committed by other nodes arrive as cache invalidations.
+ * Skip-level questions go to the reporting closure table.
+ * <p>
+ * Every patch bumps a generation counter. A load that raced with a patch may have read the old reporting line,
+ * so it is discarded and repeated rather than published over the patched snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrgHierarchyServiceImpl implements OrgHierarchyService, CacheInvalidationHandler {
+
+    public static final String REGION = "org-hierarchy";
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final AtomicReference<OrgHierarchy> snapshot = new AtomicReference<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Held while patching and while publishing a load, so no patch falls between the generation check and the set
+    private final ReentrantLock patchLock = new ReentrantLock();
+    private final AtomicLong patchGeneration = new AtomicLong();
+
+    @Override
+    public boolean isManagerOf(Long managerId, Long employeeId) {
+        if (managerId == null || employeeId == null) {
+            return false;
+        }
+        return hierarchyContaining(employeeId).isManagerOf(managerId, employeeId);
+    }
+
+    @Override
+    public boolean isInReportingChain(Long ancestorId, Long employeeId) {
+        if (ancestorId == null || employeeId == null) {
+            return false;
+        }
+        // Direct reports are answered from memory, skip levels from the closure table
+        return isManagerOf(ancestorId, employeeId) || employeeRepository.isInReportingChain(ancestorId, employeeId);
+    }
+
+    @Override
+    public long[] reportsOf(Long managerId) {
+        if (managerId == null) {
+            return new long[0];
+        }
+        return current().reportsOf(managerId);
+    }
+
+    @Override
+    public void onManagerChanged(Long employeeId, Long managerId) {
+        log.debug("Patching org hierarchy for employee: {}", employeeId);
+        patchLock.lock();
+        try {
+            patchGeneration.incrementAndGet();
+            snapshot.updateAndGet(hierarchy -> hierarchy == null ? null : hierarchy.withManager(employeeId, managerId));
+        } finally {
+            patchLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${org-hierarchy.refresh-interval:PT10M}",
+            initialDelayString = "${org-hierarchy.refresh-interval:PT10M}")
+    public void refresh() {
+        loadAndPublish();
+    }
+
+    @Override
+    public String region() {
+        return REGION;
+    }
+
+    @Override
+    public void evict(String key) {
+        if (snapshot.get() == null) {
+            return;
+        }
+        var employeeId = Long.valueOf(key);
+        employeeRepository.findManagerLink(employeeId)
+                .ifPresentOrElse(
+                        link -> onManagerChanged(link.getEmployeeId(), link.getManagerId()),
+                        // Deleted employee: the snapshot has no removal, reload it
+                        this::refresh);
+    }
+
+    @Override
+    public void evictAll() {
+        if (snapshot.get() != null) {
+            refresh();
+        }
+    }
+
+    private OrgHierarchy hierarchyContaining(long employeeId) {
+        var hierarchy = current();
+        if (hierarchy.contains(employeeId)) {
+            return hierarchy;
+        }
+
+        // Employee created after the last load: fetch just this reporting line
+        return employeeRepository.findManagerLink(employeeId)
+                .map(link -> {
+                    onManagerChanged(link.getEmployeeId(), link.getManagerId());
+                    return current();
+                })
+                .orElse(hierarchy);
+    }
+
+    private OrgHierarchy current() {
+        var hierarchy = snapshot.get();
+        if (hierarchy != null) {
+            return hierarchy;
+        }
+
+        loadLock.lock();
+        try {
+            hierarchy = snapshot.get();
+            if (hierarchy == null) {
+                hierarchy = loadAndPublish();
+            }
+            return hierarchy;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the hierarchy and publishes it unless a reporting line was patched during the load.
+     */
+    private OrgHierarchy loadAndPublish() {
+        for (int attempt = 1; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            var generation = patchGeneration.get();
+            var hierarchy = load();
+            patchLock.lock();
+            try {
+                if (patchGeneration.get() == generation) {
+                    snapshot.set(hierarchy);
+                    return hierarchy;
+                }
+            } finally {
+                patchLock.unlock();
+            }
+            log.debug("Reporting lines changed while loading org hierarchy, reloading");
+        }
+
+        // Patches keep arriving: hold them back for the last load
+        patchLock.lock();
+        try {
+            var hierarchy = load();
+            snapshot.set(hierarchy);
+            return hierarchy;
+        } finally {
+            patchLock.unlock();
+        }
+    }
+
+    private OrgHierarchy load() {
+        var links = employeeRepository.findAllManagerLinks();
+
+        var employeeIds = new long[links.size()];
+        var managerIds = new long[links.size()];
+        for (int i = 0; i < links.size(); i++) {
+            EmployeeManagerLink link = links.get(i);
+            employeeIds[i] = link.getEmployeeId();
+            managerIds[i] = link.getManagerId() != null ? link.getManagerId() : 0L;
+        }
+
+        log.info("Loaded org hierarchy with {} employees", links.size());
+        return OrgHierarchy.of(employeeIds, managerIds);
+    }
+}
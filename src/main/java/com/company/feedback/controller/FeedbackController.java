@@ -1,5 +1,6 @@
 package com.company.feedback.controller;
 
+import com.company.common.query.QueryBudget;
 import com.company.feedback.api.FeedbackApi;
 import com.company.feedback.dto.FeedbackCreateRequest;
 import com.company.feedback.dto.FeedbackDto;
@@ -19,12 +20,14 @@ public class FeedbackController implements FeedbackApi {
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 4)
     public ResponseEntity<List<FeedbackDto>> getFeedback(Long employeeId) {
         return ResponseEntity.ok(feedbackService.getFeedbackForEmployee(employeeId));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('EMPLOYEE','MANAGER')")
+    @QueryBudget(statements = 7)
     public ResponseEntity<FeedbackDto> createFeedback(Long employeeId, FeedbackCreateRequest request) {
         return ResponseEntity.ok(feedbackService.createFeedback(employeeId, request));
     }
@@ -4,6 +4,7 @@ import com.company.feedback.entity.Feedback;
 import com.company.feedback.model.FeedbackVisibility;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,7 +13,9 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
 
     /**
      * All feedback for the given employee visible to employee and manager.
+     * Authors are fetched along so mapping to DTOs needs no extra queries.
      */
+    @EntityGraph(attributePaths = "author")
     Page<Feedback> findByEmployeeIdAndVisibilityIn(
             Long employeeId,
             Iterable<FeedbackVisibility> visibilities,
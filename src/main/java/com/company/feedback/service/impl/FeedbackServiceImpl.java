@@ -2,21 +2,30 @@ package com.company.feedback.service.impl;
 
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.security.SecurityUtils;
+import com.company.common.concurrent.SingleFlight;
+import com.company.common.logging.LogMarkers;
+import com.company.common.metrics.MetricsConfig;
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxWriter;
 import com.company.employee.entity.Employee;
 import com.company.employee.repository.EmployeeRepository;
+import com.company.employee.service.OrgHierarchyService;
 import com.company.feedback.dto.FeedbackCreateRequest;
 import com.company.feedback.dto.FeedbackDto;
 import com.company.feedback.entity.Feedback;
 import com.company.feedback.mapper.FeedbackMapper;
 import com.company.feedback.model.FeedbackVisibility;
 import com.company.feedback.repository.FeedbackRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
@@ -24,34 +33,55 @@ import java.util.Set;
 import static org.springframework.data.domain.Pageable.unpaged;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
+@Timed(MetricsConfig.SERVICE_CALLS)
 @Slf4j
 public class FeedbackServiceImpl implements com.company.feedback.service.FeedbackService {
 
     private final FeedbackRepository feedbackRepository;
     private final EmployeeRepository employeeRepository;
     private final FeedbackMapper feedbackMapper;
+    private final OrgHierarchyService orgHierarchyService;
+    private final OutboxWriter outboxWriter;
+
+    // Concurrent reads of the same employee's feedback with the same visibilities share one database load
+    private final SingleFlight<FeedbackReadKey, List<FeedbackDto>> feedbackReads = new SingleFlight<>(Duration.ofSeconds(2));
+
+    public FeedbackServiceImpl(FeedbackRepository feedbackRepository,
+                               EmployeeRepository employeeRepository,
+                               FeedbackMapper feedbackMapper,
+                               OrgHierarchyService orgHierarchyService,
+                               OutboxWriter outboxWriter,
+                               MeterRegistry meterRegistry) {
+        this.feedbackRepository = feedbackRepository;
+        this.employeeRepository = employeeRepository;
+        this.feedbackMapper = feedbackMapper;
+        this.orgHierarchyService = orgHierarchyService;
+        this.outboxWriter = outboxWriter;
+        feedbackReads.bindTo(meterRegistry, "feedback");
+    }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<FeedbackDto> getFeedbackForEmployee(Long employeeId) {
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Retrieving feedback for employee:" + employeeId + ", by: " + currentUser.getUserId());
+        log.info(LogMarkers.SAMPLED, "Retrieving feedback for employee: {}, by: {}", employeeId, currentUser.getUserId());
 
-        var target = findEmployeeOrThrow(employeeId);
+        var visibilities = determineVisibleFeedbackVisibilities(currentUser, employeeId);
 
-        var visibilities = determineVisibleFeedbackVisibilities(currentUser, target);
-        var page = feedbackRepository.findByEmployeeIdAndVisibilityIn(employeeId, visibilities, unpaged());
-        return feedbackMapper.toDtoList(page.getContent());
+        return feedbackReads.execute(new FeedbackReadKey(employeeId, visibilities), () -> {
+            findEmployeeOrThrow(employeeId);
+            var page = feedbackRepository.findByEmployeeIdAndVisibilityIn(employeeId, visibilities, unpaged());
+            return feedbackMapper.toDtoList(page.getContent());
+        });
     }
 
     @Override
     public FeedbackDto createFeedback(Long employeeId, FeedbackCreateRequest request) {
         var currentUser = SecurityUtils.getCurrentUser();
 
-        log.info("Creating feedback for employee:" + employeeId + ", by: " + currentUser.getUserId());
+        log.info("Creating feedback for employee: {}, by: {}", employeeId, currentUser.getUserId());
 
         var authorEmployeeId = currentUser.getEmployeeId();
         if (authorEmployeeId == null) {
@@ -76,31 +106,28 @@ public class FeedbackServiceImpl implements com.company.feedback.service.Feedbac
                 .build();
 
         var saved = feedbackRepository.save(feedback);
+        var dto = feedbackMapper.toDto(saved);
+        outboxWriter.append(new OutboxEvent("feedback", saved.getId(), "feedback.created", dto));
 
         log.debug("Successfully created feedback");
-        return feedbackMapper.toDto(saved);
+        return dto;
     }
 
     private Employee findEmployeeOrThrow(Long employeeId) {
         return employeeRepository.findById(employeeId)
                 .orElseThrow(() -> {
-                    log.error("Employee not found: " + employeeId);
+                    log.error("Employee not found: {}", employeeId);
                     return new EntityNotFoundException("Employee not found: " + employeeId);
                 });
     }
 
-    private Set<FeedbackVisibility> determineVisibleFeedbackVisibilities(AuthenticatedUser user, Employee targetEmployee) {
-        log.error("Checking the feedback visibility options for " + user.getUserId() + " to leave feedback for:" + targetEmployee.getId());
+    private Set<FeedbackVisibility> determineVisibleFeedbackVisibilities(AuthenticatedUser user, Long targetEmployeeId) {
+        log.debug("Checking the feedback visibility options for {} to leave feedback for: {}", user.getUserId(), targetEmployeeId);
 
         var currentEmpId = user.getEmployeeId();
 
-        var isSelf = currentEmpId != null && currentEmpId.equals(targetEmployee.getId());
-        var isManager = false;
-
-        var manager = targetEmployee.getManager();
-        if (manager != null && currentEmpId != null) {
-            isManager = manager.getId().equals(currentEmpId);
-        }
+        var isSelf = currentEmpId != null && currentEmpId.equals(targetEmployeeId);
+        var isManager = !isSelf && orgHierarchyService.isInReportingChain(currentEmpId, targetEmployeeId);
 
         if (isSelf || isManager) {
             return EnumSet.allOf(FeedbackVisibility.class);
@@ -108,4 +135,7 @@ public class FeedbackServiceImpl implements com.company.feedback.service.Feedbac
 
         return EnumSet.of(FeedbackVisibility.EMPLOYEE_AND_MANAGER);
     }
+
+    private record FeedbackReadKey(Long employeeId, Set<FeedbackVisibility> visibilities) {
+    }
 }
@@ -0,0 +1,23 @@
+-- Optimistic locking: every update checks and increments the row version
+ALTER TABLE user_account ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employee ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employee_profile ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE absence_request ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE feedback ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Responses of POST requests sent with an Idempotency-Key header, replayed on retries.
+-- A row without response_status is a request still in progress.
+CREATE TABLE idempotency_key (
+    user_id               BIGINT       NOT NULL,
+    idempotency_key       VARCHAR(100) NOT NULL,
+    request_method        VARCHAR(10)  NOT NULL,
+    request_path          VARCHAR(500) NOT NULL,
+    response_status       INT,
+    response_content_type VARCHAR(100),
+    response_body         TEXT,
+    created_at            TIMESTAMP WITHOUT TIME ZONE DEFAULT NOW() NOT NULL,
+
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,51 @@
+-- Absence periods as inclusive date ranges.
+-- The exclusion constraint rejects overlapping pending or approved absences of the same employee, and its GiST
+-- index also answers "who is out between X and Y" range queries.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE absence_request
+    ADD COLUMN period DATERANGE GENERATED ALWAYS AS (daterange(from_date, to_date, '[]')) STORED;
+
+-- Resolve overlaps that predate the constraint. A pending request that overlaps an approved one, or an earlier
+-- pending one of the same employee, is cancelled. Overlapping approved absences cannot be decided here: the
+-- migration fails and lists them, so they can be fixed by hand before it is retried.
+DO $$
+DECLARE
+    pending   RECORD;
+    conflicts TEXT;
+BEGIN
+    FOR pending IN
+        SELECT id, employee_id, from_date, to_date FROM absence_request WHERE status = 'PENDING' ORDER BY id
+    LOOP
+        IF EXISTS (
+            SELECT 1
+            FROM absence_request other
+            WHERE other.employee_id = pending.employee_id
+              AND other.id <> pending.id
+              AND other.from_date <= pending.to_date
+              AND pending.from_date <= other.to_date
+              AND (other.status = 'APPROVED' OR (other.status = 'PENDING' AND other.id < pending.id))) THEN
+            UPDATE absence_request SET status = 'CANCELLED', updated_at = NOW() WHERE id = pending.id;
+            RAISE NOTICE 'Cancelled absence request % of employee %, it overlaps another absence',
+                pending.id, pending.employee_id;
+        END IF;
+    END LOOP;
+
+    SELECT string_agg(format('%s and %s (employee %s)', a.id, b.id, a.employee_id), ', ' ORDER BY a.id, b.id)
+    INTO conflicts
+    FROM absence_request a
+    JOIN absence_request b ON b.employee_id = a.employee_id AND b.id > a.id
+    WHERE a.status = 'APPROVED'
+      AND b.status = 'APPROVED'
+      AND a.from_date <= b.to_date
+      AND b.from_date <= a.to_date;
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Overlapping approved absence requests must be resolved first: %', conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE absence_request
+    ADD CONSTRAINT ex_absence_request_no_overlap
+        EXCLUDE USING gist (employee_id WITH =, period WITH &&)
+        WHERE (status IN ('PENDING', 'APPROVED'));
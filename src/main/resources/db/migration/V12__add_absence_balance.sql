@@ -0,0 +1,31 @@
+-- Running absence balances per employee, type and year, maintained on every absence state transition.
+-- Days are counted per calendar year; absences crossing a year boundary count towards both years.
+CREATE TABLE absence_balance (
+    employee_id  BIGINT      NOT NULL,
+    type         VARCHAR(50) NOT NULL,
+    year         INT         NOT NULL,
+
+    used_days    INT         NOT NULL DEFAULT 0, -- approved
+    pending_days INT         NOT NULL DEFAULT 0, -- waiting for a decision
+
+    updated_at   TIMESTAMP WITHOUT TIME ZONE DEFAULT NOW() NOT NULL,
+
+    PRIMARY KEY (employee_id, type, year),
+    CONSTRAINT fk_absence_balance_employee
+        FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+-- Balances of all employees of a year, for reporting
+CREATE INDEX idx_absence_balance_year ON absence_balance (year, employee_id);
+
+-- Backfill from existing absences
+INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+SELECT a.employee_id,
+       a.type,
+       EXTRACT(YEAR FROM d.day)::INT,
+       COUNT(*) FILTER (WHERE a.status = 'APPROVED'),
+       COUNT(*) FILTER (WHERE a.status = 'PENDING')
+FROM absence_request a
+         CROSS JOIN LATERAL generate_series(a.from_date, a.to_date, INTERVAL '1 day') AS d(day)
+WHERE a.status IN ('PENDING', 'APPROVED')
+GROUP BY a.employee_id, a.type, EXTRACT(YEAR FROM d.day);
@@ -0,0 +1,55 @@
+-- Public holidays per holiday region; together with weekends they are the non-working days of the region.
+CREATE TABLE public_holiday (
+    region       VARCHAR(16)  NOT NULL,
+    holiday_date DATE         NOT NULL,
+    name         VARCHAR(100) NOT NULL,
+
+    PRIMARY KEY (region, holiday_date)
+);
+
+-- Holiday region of the employee. 'DEFAULT' has no holidays until some are loaded for it.
+ALTER TABLE employee
+    ADD COLUMN region VARCHAR(16) NOT NULL DEFAULT 'DEFAULT';
+
+-- Working days of the absence in the employee's region, fixed when it is requested
+ALTER TABLE absence_request
+    ADD COLUMN working_days INT;
+
+UPDATE absence_request a
+SET working_days = (SELECT COUNT(*)
+                    FROM generate_series(a.from_date, a.to_date, INTERVAL '1 day') AS d(day)
+                    WHERE EXTRACT(ISODOW FROM d.day) < 6);
+
+ALTER TABLE absence_request
+    ALTER COLUMN working_days SET NOT NULL;
+
+-- Balances count working days from now on
+DELETE FROM absence_balance;
+
+INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+SELECT a.employee_id,
+       a.type,
+       EXTRACT(YEAR FROM d.day)::INT,
+       COUNT(*) FILTER (WHERE a.status = 'APPROVED'),
+       COUNT(*) FILTER (WHERE a.status = 'PENDING')
+FROM absence_request a
+         CROSS JOIN LATERAL generate_series(a.from_date, a.to_date, INTERVAL '1 day') AS d(day)
+WHERE a.status IN ('PENDING', 'APPROVED')
+  AND EXTRACT(ISODOW FROM d.day) < 6
+GROUP BY a.employee_id, a.type, EXTRACT(YEAR FROM d.day);
+
+-- Evict cached holiday calendars of the region on all nodes
+CREATE OR REPLACE FUNCTION public_holiday_notify_cache_invalidation() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('cache_invalidation', 'holiday-calendar:' || COALESCE(NEW.region, OLD.region));
+    IF TG_OP = 'UPDATE' AND OLD.region <> NEW.region THEN
+        PERFORM pg_notify('cache_invalidation', 'holiday-calendar:' || OLD.region);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_public_holiday_cache_invalidation
+    AFTER INSERT OR UPDATE OR DELETE ON public_holiday
+    FOR EACH ROW
+EXECUTE FUNCTION public_holiday_notify_cache_invalidation();
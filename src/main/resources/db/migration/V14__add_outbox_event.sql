@@ -0,0 +1,23 @@
+-- Transactional outbox: domain events written in the same transaction as the change they describe,
+-- relayed to downstream systems by OutboxRelay.
+CREATE TABLE outbox_event (
+    id             BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   BIGINT       NOT NULL,
+    event_type     VARCHAR(100) NOT NULL,
+    payload        JSONB        NOT NULL,
+
+    created_at     TIMESTAMP WITHOUT TIME ZONE DEFAULT NOW() NOT NULL,
+    published_at   TIMESTAMP WITHOUT TIME ZONE,
+
+    -- Failed publish attempts of the event, and the last failure
+    attempts       INT          NOT NULL DEFAULT 0,
+    last_error     VARCHAR(500)
+);
+
+-- The relay only ever reads unpublished events in id order
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event (id) WHERE published_at IS NULL;
+
+-- Purge of published events past their retention
+CREATE INDEX idx_outbox_event_published_at ON outbox_event (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,9 @@
+-- A claim is a lease: a request still in progress whose claim is older than the lease is assumed dead
+-- (crashed node, killed thread) and the key can be claimed again. The token identifies the current claim,
+-- so a request that lost its claim cannot store or release the key of the one that took it over.
+ALTER TABLE idempotency_key ADD COLUMN claimed_at TIMESTAMP WITHOUT TIME ZONE DEFAULT NOW() NOT NULL;
+ALTER TABLE idempotency_key ADD COLUMN claim_token UUID;
+
+-- SHA-256 of the request body, a retry with the same key but another body is rejected.
+-- NULL for keys claimed before this column existed.
+ALTER TABLE idempotency_key ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,8 @@
+-- Events that failed outbox.max-attempts times are parked: failed_at is set and the relay skips them, so one
+-- undeliverable event does not hold back everything behind it. Clearing failed_at puts an event back in line.
+ALTER TABLE outbox_event ADD COLUMN failed_at TIMESTAMP WITHOUT TIME ZONE;
+
+DROP INDEX idx_outbox_event_unpublished;
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event (id) WHERE published_at IS NULL AND failed_at IS NULL;
+
+CREATE INDEX idx_outbox_event_parked ON outbox_event (failed_at) WHERE failed_at IS NOT NULL;
@@ -0,0 +1,24 @@
+-- Working days of the absence that fall into the year of from_date, fixed when it is requested together with
+-- working_days. The rest belong to the year of to_date; absences span at most two calendar years. Balance
+-- transitions and the reconciliation book these stored days, so a later holiday or region change cannot make a
+-- transition reverse a different number of days than was booked.
+ALTER TABLE absence_request
+    ADD COLUMN first_year_working_days INT;
+
+-- Existing absences: split working_days with today's calendar of the employee's region
+UPDATE absence_request a
+SET first_year_working_days = CASE
+    WHEN EXTRACT(YEAR FROM a.from_date) = EXTRACT(YEAR FROM a.to_date) THEN a.working_days
+    ELSE LEAST(a.working_days, (
+        SELECT COUNT(*)
+        FROM employee e
+                 CROSS JOIN LATERAL generate_series(a.from_date,
+                                                    make_date(EXTRACT(YEAR FROM a.from_date)::INT, 12, 31),
+                                                    INTERVAL '1 day') AS d(day)
+        WHERE e.id = a.employee_id
+          AND EXTRACT(ISODOW FROM d.day) < 6
+          AND NOT EXISTS(SELECT 1 FROM public_holiday h WHERE h.region = e.region AND h.holiday_date = d.day)))
+    END;
+
+ALTER TABLE absence_request
+    ALTER COLUMN first_year_working_days SET NOT NULL;
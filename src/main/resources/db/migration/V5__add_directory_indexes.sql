@@ -0,0 +1,6 @@
+-- Keyset pagination of the public profile directory orders by (last_name, id)
+CREATE INDEX idx_employee_last_name_id ON employee (last_name, id);
+
+-- Directory filters
+CREATE INDEX idx_employee_profile_department ON employee_profile (department);
+CREATE INDEX idx_employee_profile_job_title ON employee_profile (job_title);
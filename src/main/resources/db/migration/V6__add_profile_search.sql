@@ -0,0 +1,84 @@
+-- Full-text and fuzzy search over employee profiles
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE employee_profile
+    ADD COLUMN search_text   TEXT,
+    ADD COLUMN search_vector TSVECTOR;
+
+-- Rebuilds the search columns of a profile from its own fields and its employee's name
+CREATE OR REPLACE FUNCTION employee_profile_refresh_search() RETURNS TRIGGER AS $$
+DECLARE
+    emp_first_name VARCHAR(100);
+    emp_last_name  VARCHAR(100);
+BEGIN
+    SELECT e.first_name, e.last_name
+    INTO emp_first_name, emp_last_name
+    FROM employee e
+    WHERE e.id = NEW.employee_id;
+
+    NEW.search_text := lower(concat_ws(' ', emp_first_name, emp_last_name, NEW.job_title, NEW.department, NEW.skills));
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', concat_ws(' ', emp_first_name, emp_last_name)), 'A') ||
+            setweight(to_tsvector('simple', concat_ws(' ', NEW.job_title, NEW.department)), 'B') ||
+            setweight(to_tsvector('simple', coalesce(NEW.skills, '')), 'C');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_employee_profile_search
+    BEFORE INSERT OR UPDATE OF employee_id, job_title, department, skills ON employee_profile
+    FOR EACH ROW
+EXECUTE FUNCTION employee_profile_refresh_search();
+
+-- Name changes on the employee re-run the profile trigger
+CREATE OR REPLACE FUNCTION employee_touch_profile_search() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE employee_profile SET employee_id = employee_id WHERE employee_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_employee_name_search
+    AFTER UPDATE OF first_name, last_name ON employee
+    FOR EACH ROW
+    WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name OR OLD.last_name IS DISTINCT FROM NEW.last_name)
+EXECUTE FUNCTION employee_touch_profile_search();
+
+-- Backfill existing profiles
+UPDATE employee_profile SET employee_id = employee_id;
+
+CREATE INDEX idx_employee_profile_search_vector ON employee_profile USING GIN (search_vector);
+CREATE INDEX idx_employee_profile_search_text_trgm ON employee_profile USING GIN (search_text gin_trgm_ops);
+
+-- Ranked search: full-text matches on the weighted vector, plus trigram word similarity for typos and prefixes
+CREATE OR REPLACE FUNCTION search_employee_profiles(search_query TEXT, max_rows INT, skip_rows INT)
+    RETURNS TABLE
+            (
+                employee_id BIGINT,
+                first_name  VARCHAR,
+                last_name   VARCHAR,
+                job_title   VARCHAR,
+                department  VARCHAR,
+                skills      VARCHAR,
+                bio         VARCHAR,
+                avatar_url  VARCHAR,
+                rank        REAL
+            )
+AS $$
+SELECT p.employee_id,
+       e.first_name,
+       e.last_name,
+       p.job_title,
+       p.department,
+       p.skills,
+       p.bio,
+       p.avatar_url,
+       ts_rank(p.search_vector, websearch_to_tsquery('simple', search_query))
+           + word_similarity(lower(search_query), p.search_text) AS rank
+FROM employee_profile p
+         JOIN employee e ON e.id = p.employee_id
+WHERE p.search_vector @@ websearch_to_tsquery('simple', search_query)
+   OR lower(search_query) <% p.search_text
+ORDER BY rank DESC, e.last_name, p.employee_id
+LIMIT max_rows OFFSET skip_rows
+$$ LANGUAGE sql STABLE;
@@ -0,0 +1,80 @@
+-- Transitive reporting lines: one row per (manager, employee somewhere below them)
+CREATE TABLE employee_reporting_closure (
+    ancestor_id   BIGINT  NOT NULL,
+    descendant_id BIGINT  NOT NULL,
+    depth         INTEGER NOT NULL,
+
+    CONSTRAINT pk_employee_reporting_closure PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_reporting_closure_ancestor
+        FOREIGN KEY (ancestor_id) REFERENCES employee (id) ON DELETE CASCADE,
+    CONSTRAINT fk_reporting_closure_descendant
+        FOREIGN KEY (descendant_id) REFERENCES employee (id) ON DELETE CASCADE,
+    CONSTRAINT chk_reporting_closure_depth CHECK (depth > 0)
+);
+
+CREATE INDEX idx_reporting_closure_descendant ON employee_reporting_closure (descendant_id, ancestor_id);
+
+-- Moves the subtree rooted at NEW.id below NEW.manager_id
+CREATE OR REPLACE FUNCTION employee_reporting_closure_refresh() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.manager_id = NEW.id OR EXISTS (
+            SELECT 1
+            FROM employee_reporting_closure c
+            WHERE c.ancestor_id = NEW.id
+              AND c.descendant_id = NEW.manager_id) THEN
+        RAISE EXCEPTION 'Employee % cannot report to % as this would create a reporting cycle', NEW.id, NEW.manager_id;
+    END IF;
+
+    IF TG_OP = 'UPDATE' THEN
+        -- Detach the subtree from its former managers
+        DELETE
+        FROM employee_reporting_closure c
+        WHERE c.ancestor_id IN (SELECT a.ancestor_id FROM employee_reporting_closure a WHERE a.descendant_id = NEW.id)
+          AND c.descendant_id IN (SELECT NEW.id
+                                  UNION ALL
+                                  SELECT d.descendant_id FROM employee_reporting_closure d WHERE d.ancestor_id = NEW.id);
+    END IF;
+
+    IF NEW.manager_id IS NOT NULL THEN
+        -- Attach it to the new manager and everyone above them
+        INSERT INTO employee_reporting_closure (ancestor_id, descendant_id, depth)
+        SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1
+        FROM (SELECT NEW.manager_id AS ancestor_id, 0 AS depth
+              UNION ALL
+              SELECT c.ancestor_id, c.depth FROM employee_reporting_closure c WHERE c.descendant_id = NEW.manager_id) a
+                 CROSS JOIN
+             (SELECT NEW.id AS descendant_id, 0 AS depth
+              UNION ALL
+              SELECT c.descendant_id, c.depth FROM employee_reporting_closure c WHERE c.ancestor_id = NEW.id) d;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_employee_reporting_closure_insert
+    AFTER INSERT ON employee
+    FOR EACH ROW
+    WHEN (NEW.manager_id IS NOT NULL)
+EXECUTE FUNCTION employee_reporting_closure_refresh();
+
+CREATE TRIGGER trg_employee_reporting_closure_update
+    AFTER UPDATE OF manager_id ON employee
+    FOR EACH ROW
+    WHEN (OLD.manager_id IS DISTINCT FROM NEW.manager_id)
+EXECUTE FUNCTION employee_reporting_closure_refresh();
+
+-- Backfill existing reporting lines
+INSERT INTO employee_reporting_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE chain (ancestor_id, descendant_id, depth) AS (
+    SELECT e.manager_id, e.id, 1
+    FROM employee e
+    WHERE e.manager_id IS NOT NULL
+    UNION ALL
+    SELECT m.manager_id, c.descendant_id, c.depth + 1
+    FROM chain c
+             JOIN employee m ON m.id = c.ancestor_id
+    WHERE m.manager_id IS NOT NULL
+)
+SELECT ancestor_id, descendant_id, depth
+FROM chain;
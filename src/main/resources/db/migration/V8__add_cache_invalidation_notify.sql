@@ -0,0 +1,31 @@
+-- Cache invalidation notifications, delivered to every application node on commit.
+-- Payload format: <region>:<key>
+
+CREATE OR REPLACE FUNCTION employee_notify_cache_invalidation() RETURNS TRIGGER AS $$
+DECLARE
+    changed_id BIGINT := COALESCE(NEW.id, OLD.id);
+BEGIN
+    PERFORM pg_notify('cache_invalidation', 'profile:' || changed_id);
+    IF TG_OP <> 'UPDATE' OR OLD.manager_id IS DISTINCT FROM NEW.manager_id THEN
+        PERFORM pg_notify('cache_invalidation', 'org-hierarchy:' || changed_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_employee_cache_invalidation
+    AFTER INSERT OR UPDATE OR DELETE ON employee
+    FOR EACH ROW
+EXECUTE FUNCTION employee_notify_cache_invalidation();
+
+CREATE OR REPLACE FUNCTION employee_profile_notify_cache_invalidation() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('cache_invalidation', 'profile:' || COALESCE(NEW.employee_id, OLD.employee_id));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_employee_profile_cache_invalidation
+    AFTER INSERT OR UPDATE OR DELETE ON employee_profile
+    FOR EACH ROW
+EXECUTE FUNCTION employee_profile_notify_cache_invalidation();
@@ -0,0 +1,23 @@
+-- Pooled id sequences so Hibernate can batch inserts.
+-- Hibernate allocates ids in blocks of 50 per sequence call, so each sequence is renamed to the
+-- implicit <table>_seq name and moved to the block end past the highest existing id.
+-- The column defaults keep working for plain SQL inserts; they reference the sequence by oid.
+
+ALTER SEQUENCE user_account_id_seq RENAME TO user_account_seq;
+ALTER SEQUENCE employee_id_seq RENAME TO employee_seq;
+ALTER SEQUENCE employee_profile_id_seq RENAME TO employee_profile_seq;
+ALTER SEQUENCE absence_request_id_seq RENAME TO absence_request_seq;
+ALTER SEQUENCE feedback_id_seq RENAME TO feedback_seq;
+
+ALTER SEQUENCE user_account_seq INCREMENT BY 50;
+ALTER SEQUENCE employee_seq INCREMENT BY 50;
+ALTER SEQUENCE employee_profile_seq INCREMENT BY 50;
+ALTER SEQUENCE absence_request_seq INCREMENT BY 50;
+ALTER SEQUENCE feedback_seq INCREMENT BY 50;
+
+-- V2 seeded rows with explicit ids without advancing the sequences
+SELECT setval('user_account_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM user_account), 1));
+SELECT setval('employee_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM employee), 1));
+SELECT setval('employee_profile_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM employee_profile), 1));
+SELECT setval('absence_request_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM absence_request), 1));
+SELECT setval('feedback_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM feedback), 1));
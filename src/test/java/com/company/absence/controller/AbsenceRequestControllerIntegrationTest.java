@@ -1,7 +1,14 @@
 package com.company.absence.controller;
 
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.dto.AbsenceDecisionRequest;
+import com.company.absence.dto.AbsenceDecisionResultDto;
 import com.company.absence.dto.AbsenceRequestCreateRequest;
 import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.dto.TeamCalendarDayDto;
+import com.company.absence.dto.TeamCalendarDto;
+import com.company.absence.model.AbsenceDecision;
+import com.company.absence.model.AbsenceDecisionOutcome;
 import com.company.absence.model.AbsenceStatus;
 import com.company.absence.model.AbsenceType;
 import com.company.absence.service.AbsenceRequestService;
@@ -13,14 +20,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -108,6 +120,23 @@ class AbsenceRequestControllerIntegrationTest {
         verify(absenceRequestService).getPendingAbsencesForMyTeam();
     }
 
+    @Test
+    void streamPendingAbsencesForMyTeam_shouldStreamServerSentEvents() throws Exception {
+        var emitter = new SseEmitter();
+        when(absenceRequestService.streamPendingAbsencesForMyTeam()).thenReturn(emitter);
+
+        var result = mockMvc.perform(get("/api/managers/me/absences/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("connected").data(2L));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:connected")));
+    }
+
     @Test
     void approveAbsence_shouldBeOk() throws Exception {
         var dto = AbsenceRequestDto.builder()
@@ -140,6 +169,54 @@ class AbsenceRequestControllerIntegrationTest {
         verify(absenceRequestService).rejectAbsence(1L);
     }
 
+    @Test
+    void approveAbsence_shouldReturn409OnConcurrentChange() throws Exception {
+        when(absenceRequestService.approveAbsence(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException("AbsenceRequest", 1L));
+
+        mockMvc.perform(post("/api/absences/1/approve"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void getTeamCalendar_shouldParseIsoDates() throws Exception {
+        var from = LocalDate.of(2025, 5, 1);
+        var calendar = TeamCalendarDto.builder()
+                .fromDate(from)
+                .toDate(from)
+                .days(List.of(new TeamCalendarDayDto(from, 2)))
+                .employees(List.of())
+                .build();
+
+        when(absenceRequestService.getTeamCalendar(from, from, 2)).thenReturn(calendar);
+
+        mockMvc.perform(get("/api/managers/me/absences/calendar")
+                        .param("from", "2025-05-01")
+                        .param("to", "2025-05-01")
+                        .param("maxDepth", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].absent").value(2));
+    }
+
+    @Test
+    void getMyBalances_shouldPassOptionalYear() throws Exception {
+        var balance = AbsenceBalanceDto.builder()
+                .employeeId(1L)
+                .year(2025)
+                .type(AbsenceType.VACATION)
+                .usedDays(5)
+                .pendingDays(2)
+                .build();
+
+        when(absenceRequestService.getMyBalances(2025)).thenReturn(List.of(balance));
+
+        mockMvc.perform(get("/api/me/absences/balance").param("year", "2025"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].usedDays").value(5))
+                .andExpect(jsonPath("$[0].pendingDays").value(2));
+    }
+
     @Test
     void cancelAbsence_shouldBeOk() throws Exception {
         var dto = AbsenceRequestDto.builder()
@@ -158,4 +235,39 @@ class AbsenceRequestControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(42))
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
     }
+
+    @Test
+    void decideAbsences_shouldReturnPerItemResults() throws Exception {
+        var request = AbsenceDecisionRequest.builder()
+                .ids(List.of(1L, 2L))
+                .decision(AbsenceDecision.APPROVE)
+                .build();
+        var results = List.of(
+                AbsenceDecisionResultDto.builder().id(1L).outcome(AbsenceDecisionOutcome.APPLIED)
+                        .status(AbsenceStatus.APPROVED).build(),
+                AbsenceDecisionResultDto.builder().id(2L).outcome(AbsenceDecisionOutcome.NOT_PENDING)
+                        .status(AbsenceStatus.CANCELLED).build());
+
+        when(absenceRequestService.decideAbsences(any(AbsenceDecisionRequest.class))).thenReturn(results);
+
+        mockMvc.perform(post("/api/absences/decisions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].outcome").value("APPLIED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_PENDING"))
+                .andExpect(jsonPath("$[1].status").value("CANCELLED"));
+    }
+
+    @Test
+    void decideAbsences_shouldReturn400ForInvalidRequest() throws Exception {
+        when(absenceRequestService.decideAbsences(any(AbsenceDecisionRequest.class)))
+                .thenThrow(new IllegalArgumentException("ids must not be empty"));
+
+        mockMvc.perform(post("/api/absences/decisions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"decision\":\"REJECT\",\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,33 @@
+package com.company.absence.service;
+
+import com.company.absence.model.AbsenceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbsenceTransitionMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AbsenceTransitionMetrics metrics = new AbsenceTransitionMetrics(registry);
+
+    @Test
+    void transition_shouldCountPerFromAndToStatus() {
+        metrics.transition(null, AbsenceStatus.PENDING);
+        metrics.transition(AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+        metrics.transition(AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+
+        assertThat(registry.get("absence.transitions").tags("from", "NONE", "to", "PENDING").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("absence.transitions").tags("from", "PENDING", "to", "APPROVED").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void transition_shouldCountBulkTransitionsOnce() {
+        metrics.transition(AbsenceStatus.PENDING, AbsenceStatus.REJECTED, 25);
+
+        assertThat(registry.get("absence.transitions").tags("from", "PENDING", "to", "REJECTED").counter().count())
+                .isEqualTo(25.0);
+    }
+}
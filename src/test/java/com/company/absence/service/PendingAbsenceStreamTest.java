@@ -0,0 +1,99 @@
+package com.company.absence.service;
+
+import com.company.absence.dto.AbsenceRequestDto;
+import com.company.absence.model.AbsenceChangedEvent;
+import com.company.absence.model.AbsenceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UnsupportedEncodingException;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class PendingAbsenceStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PendingAbsenceStream stream = new PendingAbsenceStream(new AbsenceStreamProperties(), meterRegistry);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(stream)).build();
+
+    @Test
+    void onAbsenceChanged_shouldOnlyReachConnectionsOfResponsibleManager() throws Exception {
+        var manager = open(2L);
+        var otherManager = open(3L);
+        await(() -> content(manager).contains("event:connected") && content(otherManager).contains("event:connected"));
+
+        var dto = AbsenceRequestDto.builder().id(100L).status(AbsenceStatus.APPROVED).build();
+        stream.onAbsenceChanged(new AbsenceChangedEvent(2L, "absence.approved", dto));
+
+        await(() -> content(manager).contains("event:absence.approved"));
+        assertThat(content(manager)).contains("id:100", "\"status\":\"APPROVED\"");
+        assertThat(content(otherManager)).doesNotContain("absence.approved");
+        assertThat(meterRegistry.get("absence.stream.connections").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeat_shouldDropConnectionsThatCannotBeWritten() {
+        var emitter = stream.subscribe(2L);
+        assertThat(stream.connections()).isEqualTo(1);
+
+        emitter.complete();
+        stream.heartbeat();
+
+        await(() -> stream.connections() == 0);
+    }
+
+    private MvcResult open(long managerId) throws Exception {
+        return mockMvc.perform(get("/stream/{managerId}", managerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final PendingAbsenceStream stream;
+
+        StreamController(PendingAbsenceStream stream) {
+            this.stream = stream;
+        }
+
+        @GetMapping("/stream/{managerId}")
+        SseEmitter subscribe(@PathVariable("managerId") long managerId) {
+            return stream.subscribe(managerId);
+        }
+    }
+}
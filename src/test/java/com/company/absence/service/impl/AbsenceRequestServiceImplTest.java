@@ -1,16 +1,28 @@
 package com.company.absence.service.impl;
 
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.dto.AbsenceDecisionRequest;
+import com.company.absence.dto.AbsenceDecisionResultDto;
 import com.company.absence.dto.AbsenceRequestCreateRequest;
 import com.company.absence.dto.AbsenceRequestDto;
 import com.company.absence.entity.AbsenceRequest;
 import com.company.absence.mapper.AbsenceRequestMapper;
+import com.company.absence.model.AbsenceChangedEvent;
+import com.company.absence.model.AbsenceDecision;
+import com.company.absence.model.AbsenceDecisionOutcome;
 import com.company.absence.model.AbsenceStatus;
 import com.company.absence.model.AbsenceType;
 import com.company.absence.repository.AbsenceRequestRepository;
+import com.company.absence.service.AbsenceBalanceLedger;
+import com.company.absence.service.AbsenceTransitionMetrics;
+import com.company.absence.service.PendingAbsenceStream;
 import com.company.auth.entity.UserAccount;
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
 import com.company.auth.security.SecurityUtils;
+import com.company.common.calendar.WorkingDayCalendar;
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxWriter;
 import com.company.employee.entity.Employee;
 import com.company.employee.repository.EmployeeRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -18,15 +30,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +60,24 @@ class AbsenceRequestServiceImplTest {
     @Mock
     private AbsenceRequestMapper mapper;
 
+    @Mock
+    private AbsenceTransitionMetrics transitionMetrics;
+
+    @Mock
+    private AbsenceBalanceLedger balanceLedger;
+
+    @Mock
+    private WorkingDayCalendar workingDayCalendar;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PendingAbsenceStream pendingAbsenceStream;
+
     @InjectMocks
     private AbsenceRequestServiceImpl service;
 
@@ -104,6 +139,8 @@ class AbsenceRequestServiceImplTest {
         try (var su = mockStatic(SecurityUtils.class)) {
             su.when(SecurityUtils::getCurrentUser).thenReturn(user);
             when(employeeRepository.findById(1L)).thenReturn(Optional.of(alice));
+            when(workingDayCalendar.workingDaysPerYear(Employee.DEFAULT_REGION, createRequest.getFromDate(), createRequest.getToDate()))
+                    .thenReturn(Map.of(2025, 8));
             when(absenceRequestRepository.save(any(AbsenceRequest.class))).thenReturn(saved);
             when(mapper.toDto(saved)).thenReturn(dto);
 
@@ -115,8 +152,68 @@ class AbsenceRequestServiceImplTest {
                 assertThat(req.getEmployee().getId()).isEqualTo(1L);
                 assertThat(req.getManager().getId()).isEqualTo(2L);
                 assertThat(req.getStatus()).isEqualTo(AbsenceStatus.PENDING);
+                assertThat(req.getWorkingDays()).isEqualTo(8);
+                assertThat(req.getFirstYearWorkingDays()).isEqualTo(8);
                 return true;
             }));
+            verify(transitionMetrics).transition(null, AbsenceStatus.PENDING);
+            verify(balanceLedger).transition(saved, null, AbsenceStatus.PENDING);
+            verify(eventPublisher).publishEvent(new AbsenceChangedEvent(2L, "absence.requested", dto));
+        }
+    }
+
+    @Test
+    void requestAbsence_shouldRejectOverlappingAbsence() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var manager = Employee.builder().id(2L).build();
+        var alice = Employee.builder().id(1L).manager(manager).build();
+        var createRequest = AbsenceRequestCreateRequest.builder()
+                .fromDate(LocalDate.of(2025, 1, 1))
+                .toDate(LocalDate.of(2025, 1, 10))
+                .build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(employeeRepository.findById(1L)).thenReturn(Optional.of(alice));
+            when(workingDayCalendar.workingDaysPerYear(Employee.DEFAULT_REGION, createRequest.getFromDate(), createRequest.getToDate()))
+                    .thenReturn(Map.of(2025, 8));
+            when(absenceRequestRepository.existsActiveOverlap(1L, createRequest.getFromDate(), createRequest.getToDate()))
+                    .thenReturn(true);
+
+            assertThatThrownBy(() -> service.requestAbsence(createRequest))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("overlaps");
+            verify(absenceRequestRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    void requestAbsence_shouldRejectAbsenceWithoutWorkingDays() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var alice = Employee.builder().id(1L).region("DE-BY").manager(Employee.builder().id(2L).build()).build();
+        var weekend = AbsenceRequestCreateRequest.builder()
+                .fromDate(LocalDate.of(2025, 1, 4))
+                .toDate(LocalDate.of(2025, 1, 5))
+                .build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(employeeRepository.findById(1L)).thenReturn(Optional.of(alice));
+            when(workingDayCalendar.workingDaysPerYear("DE-BY", weekend.getFromDate(), weekend.getToDate()))
+                    .thenReturn(Map.of(2025, 0));
+
+            assertThatThrownBy(() -> service.requestAbsence(weekend))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("working day");
+            verifyNoInteractions(absenceRequestRepository);
         }
     }
 
@@ -137,6 +234,33 @@ class AbsenceRequestServiceImplTest {
         }
     }
 
+    @Test
+    void streamPendingAbsencesForMyTeam_shouldSubscribeCurrentManager() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var emitter = new SseEmitter();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(pendingAbsenceStream.subscribe(2L)).thenReturn(emitter);
+
+            assertThat(service.streamPendingAbsencesForMyTeam()).isSameAs(emitter);
+            verifyNoInteractions(absenceRequestRepository);
+        }
+    }
+
+    @Test
+    void streamPendingAbsencesForMyTeam_shouldDenyNonManagers() {
+        var user = AuthenticatedUser.builder().userId(10L).employeeId(1L).roles(Set.of(Role.EMPLOYEE)).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(user);
+
+            assertThatThrownBy(() -> service.streamPendingAbsencesForMyTeam())
+                    .isInstanceOf(AccessDeniedException.class);
+            verifyNoInteractions(pendingAbsenceStream);
+        }
+    }
+
     @Test
     void getPendingAbsencesForMyTeam_shouldReturnDtosForManager() {
         var managerUser = AuthenticatedUser.builder()
@@ -164,10 +288,10 @@ class AbsenceRequestServiceImplTest {
 
     @Test
     void approveAbsence_shouldChangeStatusIfPendingAndManagerMatches() {
-        var managerUser = AuthenticatedUser.builder().userId(20L).roles(Set.of(Role.MANAGER)).build();
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
         var managerAccount = UserAccount.builder().id(20L).build();
-        var manager = Employee.builder().userAccount(managerAccount).build();
-        var alice   = Employee.builder().build();
+        var manager = Employee.builder().id(2L).userAccount(managerAccount).build();
+        var alice   = Employee.builder().id(1L).build();
         var request = AbsenceRequest.builder()
                 .id(100L)
                 .employee(alice)
@@ -197,6 +321,10 @@ class AbsenceRequestServiceImplTest {
             assertThat(result.getStatus()).isEqualTo(AbsenceStatus.APPROVED);
             assertThat(request.getStatus()).isEqualTo(AbsenceStatus.APPROVED);
             assertThat(request.getDecisionAt()).isNotNull();
+            verify(transitionMetrics).transition(AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+            verify(balanceLedger).transition(saved, AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+            verify(outboxWriter).append(new OutboxEvent("absence", 100L, "absence.approved", dto));
+            verify(eventPublisher).publishEvent(new AbsenceChangedEvent(2L, "absence.approved", dto));
         }
     }
 
@@ -231,13 +359,14 @@ class AbsenceRequestServiceImplTest {
     void approveAbsence_shouldThrowIfNotPending() {
         var managerUser = AuthenticatedUser.builder()
                 .userId(20L)
+                .employeeId(2L)
                 .roles(Set.of(Role.MANAGER))
                 .build();
 
         var managerAccount = UserAccount.builder().id(20L).build();
-        var manager = Employee.builder().userAccount(managerAccount).build();
+        var manager = Employee.builder().id(2L).userAccount(managerAccount).build();
 
-        var alice   = Employee.builder().build();
+        var alice   = Employee.builder().id(1L).build();
         var request = AbsenceRequest.builder()
                 .id(100L)
                 .employee(alice)
@@ -277,6 +406,27 @@ class AbsenceRequestServiceImplTest {
         }
     }
 
+    @Test
+    void requestAbsence_shouldRejectAbsenceLongerThanMaximumBeforeCountingDays() {
+        var user = AuthenticatedUser.builder().userId(10L).employeeId(1L).roles(Set.of(Role.EMPLOYEE)).build();
+        var from = LocalDate.of(2025, 1, 1);
+        var tooLong = AbsenceRequestCreateRequest.builder()
+                .fromDate(from)
+                .toDate(from.plusDays(AbsenceRequestServiceImpl.MAX_ABSENCE_DAYS))
+                .build();
+        var alice = Employee.builder().id(1L).manager(Employee.builder().id(2L).build()).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(employeeRepository.findById(1L)).thenReturn(Optional.of(alice));
+
+            assertThatThrownBy(() -> service.requestAbsence(tooLong))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("must not exceed");
+            verifyNoInteractions(workingDayCalendar, absenceRequestRepository);
+        }
+    }
+
     @Test
     void getMyAbsences_shouldThrowIfEmployeeNotSet() {
         var user = AuthenticatedUser.builder()
@@ -355,6 +505,9 @@ class AbsenceRequestServiceImplTest {
             var savedArgument = captor.getValue();
             assertThat(savedArgument.getStatus()).isEqualTo(AbsenceStatus.REJECTED);
             assertThat(savedArgument.getDecisionAt()).isNotNull();
+            verify(transitionMetrics).transition(AbsenceStatus.PENDING, AbsenceStatus.REJECTED);
+            verify(balanceLedger).transition(saved, AbsenceStatus.PENDING, AbsenceStatus.REJECTED);
+            verify(outboxWriter).append(argThat(event -> event.type().equals("absence.rejected")));
         }
     }
 
@@ -425,6 +578,35 @@ class AbsenceRequestServiceImplTest {
             var savedArgument = captor.getValue();
             assertThat(savedArgument.getStatus()).isEqualTo(AbsenceStatus.CANCELLED);
             assertThat(savedArgument.getDecisionAt()).isNotNull();
+            verify(transitionMetrics).transition(AbsenceStatus.PENDING, AbsenceStatus.CANCELLED);
+            verify(balanceLedger).transition(saved, AbsenceStatus.PENDING, AbsenceStatus.CANCELLED);
+            verify(outboxWriter).append(argThat(event -> event.type().equals("absence.cancelled")));
+        }
+    }
+
+    @Test
+    void cancelAbsence_shouldThrowWhenAlreadyCancelledOrRejected() {
+        var currentUser = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var employee = Employee.builder().id(1L).build();
+        var request = AbsenceRequest.builder()
+                .id(200L)
+                .employee(employee)
+                .status(AbsenceStatus.REJECTED)
+                .build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(currentUser);
+            when(absenceRequestRepository.findById(200L)).thenReturn(Optional.of(request));
+
+            assertThatThrownBy(() -> service.cancelAbsence(200L))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Only PENDING or APPROVED");
+            verify(absenceRequestRepository, never()).save(any());
+            verifyNoInteractions(transitionMetrics);
         }
     }
 
@@ -470,4 +652,239 @@ class AbsenceRequestServiceImplTest {
         }
     }
 
+
+    @Test
+    void decideAbsences_shouldApplyDecidableRequestsInOneUpdateAndReportTheRest() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var manager = Employee.builder().id(2L).build();
+        var alice = Employee.builder().id(1L).build();
+        var bob = Employee.builder().id(5L).build();
+        var pending = AbsenceRequest.builder().id(100L).employee(alice).manager(manager).status(AbsenceStatus.PENDING).build();
+        var cancelled = AbsenceRequest.builder().id(101L).employee(alice).manager(manager).status(AbsenceStatus.CANCELLED).build();
+        var otherTeam = AbsenceRequest.builder().id(102L).employee(bob).manager(Employee.builder().id(9L).build())
+                .status(AbsenceStatus.PENDING).build();
+        var request = AbsenceDecisionRequest.builder()
+                .ids(List.of(100L, 101L, 102L, 103L, 100L))
+                .decision(AbsenceDecision.APPROVE)
+                .build();
+        var dto = AbsenceRequestDto.builder().id(100L).status(AbsenceStatus.APPROVED).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(absenceRequestRepository.findWithEmployeeByIdIn(Set.of(100L, 101L, 102L, 103L)))
+                    .thenReturn(List.of(pending, cancelled, otherTeam));
+            when(absenceRequestRepository.decidePending(eq(List.of(100L)), eq(AbsenceStatus.APPROVED), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            when(mapper.toDto(pending)).thenReturn(dto);
+
+            var results = service.decideAbsences(request);
+
+            assertThat(results).extracting(AbsenceDecisionResultDto::getId, AbsenceDecisionResultDto::getOutcome,
+                            AbsenceDecisionResultDto::getStatus)
+                    .containsExactly(
+                            tuple(100L, AbsenceDecisionOutcome.APPLIED, AbsenceStatus.APPROVED),
+                            tuple(101L, AbsenceDecisionOutcome.NOT_PENDING, AbsenceStatus.CANCELLED),
+                            tuple(102L, AbsenceDecisionOutcome.NOT_FOUND, null),
+                            tuple(103L, AbsenceDecisionOutcome.NOT_FOUND, null));
+            verify(transitionMetrics).transition(AbsenceStatus.PENDING, AbsenceStatus.APPROVED, 1);
+            verify(balanceLedger).transition(List.of(pending), AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+            verify(outboxWriter).appendAll(argThat(events -> events.size() == 1
+                    && events.iterator().next().type().equals("absence.approved")));
+            verify(eventPublisher).publishEvent(new AbsenceChangedEvent(2L, "absence.approved", dto));
+            assertThat(pending.getStatus()).isEqualTo(AbsenceStatus.APPROVED);
+            verify(absenceRequestRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    void decideAbsences_shouldFailWhenRequestsWereDecidedConcurrently() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var alice = Employee.builder().id(1L).build();
+        var pending = AbsenceRequest.builder().id(100L).employee(alice).manager(Employee.builder().id(2L).build())
+                .status(AbsenceStatus.PENDING).build();
+        var request = AbsenceDecisionRequest.builder().ids(List.of(100L)).decision(AbsenceDecision.REJECT).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(absenceRequestRepository.findWithEmployeeByIdIn(Set.of(100L))).thenReturn(List.of(pending));
+            when(absenceRequestRepository.decidePending(eq(List.of(100L)), eq(AbsenceStatus.REJECTED), any(LocalDateTime.class)))
+                    .thenReturn(0);
+
+            assertThatThrownBy(() -> service.decideAbsences(request))
+                    .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+            verifyNoInteractions(transitionMetrics, balanceLedger, outboxWriter, eventPublisher);
+        }
+    }
+
+    @Test
+    void decideAbsences_shouldValidateRequest() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var tooMany = LongStream.rangeClosed(1, AbsenceRequestServiceImpl.MAX_BULK_DECISIONS + 1).boxed().toList();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+
+            assertThatThrownBy(() -> service.decideAbsences(AbsenceDecisionRequest.builder().ids(List.of(1L)).build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("decision must be provided");
+            assertThatThrownBy(() -> service.decideAbsences(
+                    AbsenceDecisionRequest.builder().ids(List.of()).decision(AbsenceDecision.APPROVE).build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("ids must not be empty");
+            assertThatThrownBy(() -> service.decideAbsences(
+                    AbsenceDecisionRequest.builder().ids(tooMany).decision(AbsenceDecision.APPROVE).build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("At most");
+            verifyNoInteractions(absenceRequestRepository);
+        }
+    }
+
+    @Test
+    void decideAbsences_shouldRequireManagerRole() {
+        var employeeUser = AuthenticatedUser.builder().userId(10L).employeeId(1L).roles(Set.of(Role.EMPLOYEE)).build();
+        var request = AbsenceDecisionRequest.builder().ids(List.of(100L)).decision(AbsenceDecision.APPROVE).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(employeeUser);
+
+            assertThatThrownBy(() -> service.decideAbsences(request))
+                    .isInstanceOf(AccessDeniedException.class);
+            verifyNoInteractions(absenceRequestRepository);
+        }
+    }
+
+    @Test
+    void getTeamCalendar_shouldQueryAbsencesOfWholeSubtreeByDefault() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var from = LocalDate.of(2025, 5, 1);
+        var to = LocalDate.of(2025, 5, 31);
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(absenceRequestRepository.findTeamAbsencesUnder(2L, AbsenceRequestServiceImpl.MAX_TEAM_DEPTH, from, to))
+                    .thenReturn(List.of());
+
+            var calendar = service.getTeamCalendar(from, to, null);
+
+            assertThat(calendar.getDays()).hasSize(31);
+            assertThat(calendar.getEmployees()).isEmpty();
+        }
+    }
+
+    @Test
+    void getTeamCalendar_shouldLimitToRequestedDepth() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var day = LocalDate.of(2025, 5, 1);
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(absenceRequestRepository.findTeamAbsencesUnder(2L, 1, day, day)).thenReturn(List.of());
+
+            var calendar = service.getTeamCalendar(day, day, 1);
+
+            assertThat(calendar.getDays()).hasSize(1);
+        }
+    }
+
+    @Test
+    void getTeamCalendar_shouldRejectNonPositiveDepth() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var day = LocalDate.of(2025, 5, 1);
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+
+            assertThatThrownBy(() -> service.getTeamCalendar(day, day, 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("maxDepth");
+            verifyNoInteractions(absenceRequestRepository);
+        }
+    }
+
+    @Test
+    void getTeamCalendar_shouldRejectInvalidWindow() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+        var day = LocalDate.of(2025, 5, 1);
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+
+            assertThatThrownBy(() -> service.getTeamCalendar(day, day.minusDays(1), null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.getTeamCalendar(day, day.plusDays(AbsenceRequestServiceImpl.MAX_CALENDAR_DAYS), null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("must not exceed");
+            verifyNoInteractions(absenceRequestRepository);
+        }
+    }
+
+    @Test
+    void getMyBalances_shouldDefaultToCurrentYear() {
+        var user = AuthenticatedUser.builder().userId(10L).employeeId(1L).roles(Set.of(Role.EMPLOYEE)).build();
+        var balance = AbsenceBalanceDto.builder().employeeId(1L).type(AbsenceType.VACATION).usedDays(3).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(balanceLedger.balancesOf(List.of(1L), LocalDate.now().getYear())).thenReturn(List.of(balance));
+
+            assertThat(service.getMyBalances(null)).containsExactly(balance);
+            verifyNoInteractions(absenceRequestRepository);
+        }
+    }
+
+    @Test
+    void getTeamBalances_shouldReadBalancesOfWholeSubtreeByDefault() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(balanceLedger.balancesUnder(2L, AbsenceRequestServiceImpl.MAX_TEAM_DEPTH, 2025)).thenReturn(List.of());
+
+            assertThat(service.getTeamBalances(2025, null)).isEmpty();
+        }
+    }
+
+    @Test
+    void getTeamBalances_shouldCapRequestedDepth() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+            when(balanceLedger.balancesUnder(2L, 1, 2025)).thenReturn(List.of());
+            when(balanceLedger.balancesUnder(2L, AbsenceRequestServiceImpl.MAX_TEAM_DEPTH, 2025)).thenReturn(List.of());
+
+            service.getTeamBalances(2025, 1);
+            service.getTeamBalances(2025, 50);
+
+            verify(balanceLedger).balancesUnder(2L, 1, 2025);
+            verify(balanceLedger).balancesUnder(2L, AbsenceRequestServiceImpl.MAX_TEAM_DEPTH, 2025);
+        }
+    }
+
+    @Test
+    void getTeamBalances_shouldRejectNonPositiveDepth() {
+        var managerUser = AuthenticatedUser.builder().userId(20L).employeeId(2L).roles(Set.of(Role.MANAGER)).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
+
+            assertThatThrownBy(() -> service.getTeamBalances(2025, 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("maxDepth");
+            verifyNoInteractions(balanceLedger);
+        }
+    }
+
+    @Test
+    void getTeamBalances_shouldDenyNonManagers() {
+        var user = AuthenticatedUser.builder().userId(10L).employeeId(1L).roles(Set.of(Role.EMPLOYEE)).build();
+
+        try (var su = mockStatic(SecurityUtils.class)) {
+            su.when(SecurityUtils::getCurrentUser).thenReturn(user);
+
+            assertThatThrownBy(() -> service.getTeamBalances(2025, null))
+                    .isInstanceOf(AccessDeniedException.class);
+            verifyNoInteractions(balanceLedger);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.company.absence.service.impl;
+
+import com.company.absence.dto.TeamCalendarDayDto;
+import com.company.absence.dto.TeamCalendarEmployeeDto;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import com.company.absence.repository.TeamAbsenceView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamCalendarBuilderTest {
+
+    private static final LocalDate MAY_1 = LocalDate.of(2025, 5, 1);
+
+    @Test
+    void shouldCountAbsentPeoplePerDayClippedToWindow() {
+        var absences = List.of(
+                view(1L, 10L, MAY_1.minusDays(3), MAY_1.plusDays(1)),   // starts before the window
+                view(2L, 10L, MAY_1.plusDays(4), MAY_1.plusDays(4)),
+                view(3L, 20L, MAY_1.plusDays(1), MAY_1.plusDays(10)));  // ends after the window
+
+        var calendar = TeamCalendarBuilder.build(MAY_1, MAY_1.plusDays(5), absences);
+
+        assertThat(calendar.getDays()).extracting(TeamCalendarDayDto::getAbsent)
+                .containsExactly(1, 2, 1, 1, 2, 1);
+        assertThat(calendar.getDays().getFirst().getDate()).isEqualTo(MAY_1);
+        assertThat(calendar.getDays().getLast().getDate()).isEqualTo(MAY_1.plusDays(5));
+    }
+
+    @Test
+    void shouldGroupFullSpansByEmployee() {
+        var absences = List.of(
+                view(1L, 10L, MAY_1.minusDays(3), MAY_1.plusDays(1)),
+                view(2L, 10L, MAY_1.plusDays(4), MAY_1.plusDays(4)),
+                view(3L, 20L, MAY_1.plusDays(1), MAY_1.plusDays(10)));
+
+        var calendar = TeamCalendarBuilder.build(MAY_1, MAY_1.plusDays(5), absences);
+
+        assertThat(calendar.getEmployees()).extracting(TeamCalendarEmployeeDto::getEmployeeId).containsExactly(10L, 20L);
+        var first = calendar.getEmployees().getFirst();
+        assertThat(first.getAbsences()).hasSize(2);
+        assertThat(first.getAbsences().getFirst().getFromDate()).isEqualTo(MAY_1.minusDays(3));
+    }
+
+    @Test
+    void shouldReturnEmptyDaysWithoutAbsences() {
+        var calendar = TeamCalendarBuilder.build(MAY_1, MAY_1.plusDays(2), List.of());
+
+        assertThat(calendar.getDays()).hasSize(3).allSatisfy(day -> assertThat(day.getAbsent()).isZero());
+        assertThat(calendar.getEmployees()).isEmpty();
+    }
+
+    private static TeamAbsenceView view(Long absenceId, Long employeeId, LocalDate from, LocalDate to) {
+        return new TeamAbsenceView() {
+            @Override
+            public Long getAbsenceId() {
+                return absenceId;
+            }
+
+            @Override
+            public Long getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public String getFirstName() {
+                return "First" + employeeId;
+            }
+
+            @Override
+            public String getLastName() {
+                return "Last" + employeeId;
+            }
+
+            @Override
+            public LocalDate getFromDate() {
+                return from;
+            }
+
+            @Override
+            public LocalDate getToDate() {
+                return to;
+            }
+
+            @Override
+            public AbsenceType getType() {
+                return AbsenceType.VACATION;
+            }
+
+            @Override
+            public AbsenceStatus getStatus() {
+                return AbsenceStatus.APPROVED;
+            }
+        };
+    }
+}
@@ -6,6 +6,7 @@ import com.company.auth.entity.UserAccount;
 import com.company.auth.jwt.JwtTokenProvider;
 import com.company.auth.model.Role;
 import com.company.auth.repository.UserAccountRepository;
+import com.company.auth.security.AuthMetrics;
 import com.company.common.api.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,9 @@ class AuthControllerIntegrationTest {
     @MockitoBean
     JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    AuthMetrics authMetrics;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -7,6 +7,7 @@ import com.company.auth.jwt.JwtTokenProvider;
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
 import com.company.auth.repository.UserAccountRepository;
+import com.company.auth.security.AuthMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -33,6 +34,9 @@ class AuthControllerTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private AuthMetrics authMetrics;
+
     @InjectMocks
     private AuthController authController;
 
@@ -77,6 +81,7 @@ class AuthControllerTest {
                 .hasMessageContaining("Invalid username or password");
         verify(passwordEncoder, never()).matches(anyString(), anyString());
         verify(jwtTokenProvider, never()).createToken(any());
+        verify(authMetrics).unknownUser();
     }
 
     @Test
@@ -97,5 +102,6 @@ class AuthControllerTest {
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessageContaining("Invalid username or password");
         verify(jwtTokenProvider, never()).createToken(any());
+        verify(authMetrics).badPassword();
     }
 }
@@ -2,6 +2,7 @@ package com.company.auth.jwt;
 
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
+import com.company.auth.security.AuthMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,7 +23,8 @@ import static org.mockito.Mockito.*;
 class JwtAuthenticationFilterTest {
 
     private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
-    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider);
+    private final AuthMetrics authMetrics = mock(AuthMetrics.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, authMetrics);
 
     @AfterEach
     void clearContext() {
@@ -35,7 +38,6 @@ class JwtAuthenticationFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer valid-token");
-        when(tokenProvider.validateToken("valid-token")).thenReturn(true);
 
         AuthenticatedUser user = AuthenticatedUser.builder()
                 .userId(1L)
@@ -45,7 +47,7 @@ class JwtAuthenticationFilterTest {
                 .roles(Set.of(Role.EMPLOYEE))
                 .build();
 
-        when(tokenProvider.getUserFromToken("valid-token")).thenReturn(user);
+        when(tokenProvider.authenticate("valid-token")).thenReturn(Optional.of(user));
 
         filter.doFilterInternal(request, response, chain);
 
@@ -73,7 +75,7 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isNull();
 
         verify(chain).doFilter(request, response);
-        verify(tokenProvider, never()).validateToken(anyString());
+        verify(tokenProvider, never()).authenticate(anyString());
     }
 
     @Test
@@ -83,7 +85,7 @@ class JwtAuthenticationFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer invalid-token");
-        when(tokenProvider.validateToken("invalid-token")).thenReturn(false);
+        when(tokenProvider.authenticate("invalid-token")).thenReturn(Optional.empty());
 
         filter.doFilterInternal(request, response, chain);
 
@@ -91,6 +93,6 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isNull();
 
         verify(chain).doFilter(request, response);
-        verify(tokenProvider, never()).getUserFromToken(anyString());
+        verify(authMetrics).invalidToken();
     }
 }
@@ -61,4 +61,65 @@ class JwtTokenProviderTest {
         boolean valid = jwtTokenProvider.validateToken(token);
         assertThat(valid).isFalse();
     }
+
+    @Test
+    void authenticate_shouldResolveUserFromValidToken() {
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .userId(42L)
+                .employeeId(7L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        String token = jwtTokenProvider.createToken(user);
+
+        var parsed = jwtTokenProvider.authenticate(token);
+
+        assertThat(parsed).isPresent();
+        assertThat(parsed.get().getUserId()).isEqualTo(42L);
+        assertThat(parsed.get().getEmployeeId()).isEqualTo(7L);
+        assertThat(parsed.get().getRoles()).containsExactly(Role.EMPLOYEE);
+    }
+
+    @Test
+    void authenticate_shouldServeRepeatedTokenFromCache() {
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .userId(42L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        String token = jwtTokenProvider.createToken(user);
+
+        var first = jwtTokenProvider.authenticate(token);
+        var second = jwtTokenProvider.authenticate(token);
+
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get()).isSameAs(first.get());
+    }
+
+    @Test
+    void authenticate_shouldRejectGarbageToken() {
+        assertThat(jwtTokenProvider.authenticate("this-is-not-a-jwt")).isEmpty();
+    }
+
+    @Test
+    void authenticate_shouldRejectExpiredToken() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret(Base64.getEncoder()
+                .encodeToString("this-is-a-very-long-secret-key-for-tests-123456".getBytes(StandardCharsets.UTF_8)));
+        props.setValidityInMs(-1000L);
+        var expiringProvider = new JwtTokenProvider(props);
+
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .userId(42L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        String token = expiringProvider.createToken(user);
+
+        assertThat(expiringProvider.authenticate(token)).isEmpty();
+    }
 }
@@ -0,0 +1,134 @@
+package com.company.benchmark;
+
+import com.company.common.web.RequestConcurrencyProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on a Tomcat-sized platform thread pool with virtual threads behind the
+ * request concurrency limiter, against a real PostgreSQL and HikariCP pool.
+ * <p>
+ * The limiter uses the shipped default derived from the pool size. Two request shapes are measured: database
+ * bound (one short query, like most endpoints) and one that first waits on a slow downstream call without holding a
+ * connection, which is where platform threads sit idle and virtual threads do not. Not part of the test suite;
+ * run it directly (requires Docker):
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.company.benchmark.ThreadModelBenchmark
+ * </pre>
+ * Optional arguments: requests, platform threads, pool size, downstream latency in ms, concurrency limit
+ * (default derived from the pool size).
+ */
+public final class ThreadModelBenchmark {
+
+    private ThreadModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var requests = intArg(args, 0, 20_000);
+        var platformThreads = intArg(args, 1, 200);
+        var poolSize = intArg(args, 2, 10);
+        var downstreamLatency = Duration.ofMillis(intArg(args, 3, 50));
+        var concurrencyLimit = intArg(args, 4, new RequestConcurrencyProperties().limitFor(poolSize));
+
+        try (var postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+
+            var config = new HikariConfig();
+            config.setJdbcUrl(postgres.getJdbcUrl());
+            config.setUsername(postgres.getUsername());
+            config.setPassword(postgres.getPassword());
+            config.setMaximumPoolSize(poolSize);
+
+            try (var dataSource = new HikariDataSource(config)) {
+                // Warm up the pool and JIT
+                run("warm-up", Executors.newFixedThreadPool(platformThreads), null, dataSource, 2_000, downstreamLatency);
+
+                for (var latency : List.of(Duration.ZERO, downstreamLatency)) {
+                    System.out.printf("downstream latency %d ms%n", latency.toMillis());
+                    run("platform (" + platformThreads + " threads)",
+                            Executors.newFixedThreadPool(platformThreads), null, dataSource, requests, latency);
+                    run("virtual (limit " + concurrencyLimit + ")",
+                            Executors.newVirtualThreadPerTaskExecutor(), new Semaphore(concurrencyLimit, true),
+                            dataSource, requests, latency);
+                }
+            }
+        }
+    }
+
+    private static void run(String name, ExecutorService executor, Semaphore limiter, HikariDataSource dataSource,
+                            int requests, Duration downstreamLatency) throws Exception {
+        System.gc();
+        var threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        var memory = ManagementFactory.getMemoryMXBean();
+
+        var latenciesNanos = new long[requests];
+        var started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(requests);
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                var index = i;
+                var submittedAt = System.nanoTime();
+                futures.add(executor.submit(() -> {
+                    handleRequest(limiter, dataSource, downstreamLatency);
+                    latenciesNanos[index] = System.nanoTime() - submittedAt;
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        var elapsedNanos = System.nanoTime() - started;
+
+        Arrays.sort(latenciesNanos);
+        System.out.printf("%-28s %8.0f req/s  p50 %6.1f ms  p99 %7.1f ms  peak platform threads %4d  heap %4d MB%n",
+                name,
+                requests / (elapsedNanos / 1e9),
+                percentileMs(latenciesNanos, 0.50),
+                percentileMs(latenciesNanos, 0.99),
+                threads.getPeakThreadCount(),
+                memory.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+    }
+
+    private static void handleRequest(Semaphore limiter, HikariDataSource dataSource, Duration downstreamLatency)
+            throws Exception {
+        if (limiter != null && !limiter.tryAcquire(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Limiter timeout");
+        }
+        try {
+            if (!downstreamLatency.isZero()) {
+                Thread.sleep(downstreamLatency);
+            }
+            try (var connection = dataSource.getConnection();
+                 var statement = connection.prepareStatement("SELECT pg_sleep(0.001)")) {
+                statement.execute();
+            }
+        } finally {
+            if (limiter != null) {
+                limiter.release();
+            }
+        }
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        var index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.common.cache;
+
+import com.company.db.AbstractFlywayIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({PostgresCacheInvalidationListener.class, PostgresCacheInvalidationListenerIntegrationTest.RecordingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostgresCacheInvalidationListenerIntegrationTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private PostgresCacheInvalidationListener listener;
+
+    @Autowired
+    private RecordingHandler profileHandler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void committedProfileWrite_shouldReachListener() throws Exception {
+        awaitListening();
+        profileHandler.evictedKeys.clear();
+
+        // No-op update: the trigger fires without changing shared seed data
+        jdbcTemplate.update("UPDATE employee_profile SET job_title = job_title WHERE employee_id = 2");
+
+        assertThat(profileHandler.evictedKeys.poll(10, TimeUnit.SECONDS)).isEqualTo("2");
+    }
+
+    @Test
+    void rolledBackWrite_shouldNotBeDelivered() throws Exception {
+        awaitListening();
+        profileHandler.evictedKeys.clear();
+
+        jdbcTemplate.execute((Connection connection) -> {
+            connection.setAutoCommit(false);
+            try (var statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE employee_profile SET job_title = job_title WHERE employee_id = 3");
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return null;
+        });
+
+        assertThat(profileHandler.evictedKeys.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    private void awaitListening() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!listener.isListening() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(listener.isListening()).isTrue();
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        RecordingHandler profileHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements CacheInvalidationHandler {
+
+        final BlockingQueue<String> evictedKeys = new LinkedBlockingQueue<>();
+
+        @Override
+        public String region() {
+            return "profile";
+        }
+
+        @Override
+        public void evict(String key) {
+            evictedKeys.add(key);
+        }
+
+        @Override
+        public void evictAll() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.common.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WorkingDayCalendarTest {
+
+    private static final String SQL = "SELECT holiday_date FROM public_holiday WHERE region = ? AND holiday_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private WorkingDayCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForList(eq(SQL), eq(LocalDate.class), any(), any(), any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(SQL, LocalDate.class, "DE", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)))
+                .thenReturn(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26)));
+        calendar = new WorkingDayCalendar(jdbcTemplate, new HolidayCalendarProperties());
+    }
+
+    @Test
+    void workingDays_shouldSkipWeekendsAndHolidaysOfTheRegion() {
+        // Wednesday 1 January to Friday 10 January
+        assertThat(calendar.workingDays("DE", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 10))).isEqualTo(7);
+        assertThat(calendar.workingDays("FR", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 10))).isEqualTo(8);
+        assertThat(calendar.workingDays("DE", LocalDate.of(2025, 1, 4), LocalDate.of(2025, 1, 5))).isZero();
+        assertThat(calendar.isWorkingDay("DE", LocalDate.of(2025, 12, 25))).isFalse();
+        assertThat(calendar.isWorkingDay("DE", LocalDate.of(2025, 12, 24))).isTrue();
+    }
+
+    @Test
+    void workingDaysPerYear_shouldSplitAtYearBoundaries() {
+        assertThat(calendar.workingDaysPerYear("DE", LocalDate.of(2024, 12, 30), LocalDate.of(2026, 1, 2)))
+                .containsExactly(Map.entry(2024, 2), Map.entry(2025, 258), Map.entry(2026, 2));
+    }
+
+    @Test
+    void workingDays_shouldLoadEachRegionYearOnce() {
+        calendar.workingDays("DE", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+        calendar.workingDays("DE", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30));
+
+        verify(jdbcTemplate, times(1)).queryForList(eq(SQL), eq(LocalDate.class), eq("DE"), any(), any());
+    }
+
+    @Test
+    void evict_shouldReloadOnlyTheNotifiedRegion() {
+        var day = LocalDate.of(2025, 3, 3);
+        calendar.isWorkingDay("DE", day);
+        calendar.isWorkingDay("FR", day);
+
+        calendar.evict("DE");
+        calendar.isWorkingDay("DE", day);
+        calendar.isWorkingDay("FR", day);
+
+        verify(jdbcTemplate, times(2)).queryForList(eq(SQL), eq(LocalDate.class), eq("DE"), any(), any());
+        verify(jdbcTemplate, times(1)).queryForList(eq(SQL), eq(LocalDate.class), eq("FR"), any(), any());
+    }
+
+    @Test
+    void workingDays_shouldRejectReversedRange() {
+        assertThatThrownBy(() -> calendar.workingDays("DE", LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
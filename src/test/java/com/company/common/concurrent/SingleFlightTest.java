@@ -0,0 +1,140 @@
+package com.company.common.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofSeconds(5));
+        var loaderCalls = new AtomicInteger();
+        var loaderStarted = new CountDownLatch(1);
+        var releaseLoader = new CountDownLatch(1);
+        var callers = 8;
+        var executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            var results = new ArrayList<Future<String>>();
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "profile-1";
+            })));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loaderCalls.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            while (singleFlight.coalescedCount() < callers - 1) {
+                Thread.sleep(10);
+            }
+            releaseLoader.countDown();
+
+            for (var result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("profile-1");
+            }
+            assertThat(loaderCalls).hasValue(1);
+            assertThat(singleFlight.loadCount()).isEqualTo(1);
+        } finally {
+            releaseLoader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldPropagateLoaderFailureToWaiters() throws Exception {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofSeconds(5));
+        var loaderStarted = new CountDownLatch(1);
+        var releaseLoader = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            var leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                throw new IllegalArgumentException("not found");
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            var waiter = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+            while (singleFlight.coalescedCount() < 1) {
+                Thread.sleep(10);
+            }
+            releaseLoader.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        } finally {
+            releaseLoader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldLoadDirectlyWhenWaitTimesOut() throws Exception {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofMillis(50));
+        var loaderStarted = new CountDownLatch(1);
+        var releaseLoader = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "slow";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(singleFlight.execute(1L, () -> "direct")).isEqualTo("direct");
+        } finally {
+            releaseLoader.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldLoadAgainOnceThePreviousLoadFinished() {
+        var singleFlight = new SingleFlight<Long, Integer>(Duration.ofSeconds(1));
+        var loaderCalls = new AtomicInteger();
+
+        singleFlight.execute(1L, loaderCalls::incrementAndGet);
+        singleFlight.execute(1L, loaderCalls::incrementAndGet);
+
+        assertThat(loaderCalls).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void bindTo_shouldPublishCounters() {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofSeconds(5));
+        var registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry, "test");
+
+        singleFlight.execute(1L, () -> "one");
+        singleFlight.execute(2L, () -> "two");
+
+        assertThat(registry.get("singleflight.loads").tag("name", "test").functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("singleflight.coalesced").tag("name", "test").functionCounter().count()).isZero();
+    }
+}
@@ -0,0 +1,199 @@
+package com.company.common.idempotency;
+
+import com.company.auth.model.AuthenticatedUser;
+import com.company.auth.model.Role;
+import com.company.common.idempotency.IdempotencyKeyStore.StoredRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/employees/1/feedback";
+    private static final String BODY = "{\"text\":\"Great quarter\"}";
+
+    private final IdempotencyKeyStore store = mock(IdempotencyKeyStore.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, new IdempotencyProperties(),
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @BeforeEach
+    void authenticate() {
+        var user = AuthenticatedUser.builder().userId(7L).employeeId(7L).username("user7").password("")
+                .roles(Set.of(Role.EMPLOYEE)).build();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldStoreResponseOfFirstRequest() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), eq(sha256(BODY)))).thenReturn(true);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(post("key-1"), response, respondingWith(200, "{\"id\":5}"));
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":5}");
+        verify(store).complete(eq(7L), eq("key-1"), any(), eq(200), any(), eq("{\"id\":5}"));
+        verify(store, never()).release(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void shouldPassHashedBodyOnToTheRequest() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), eq(sha256(BODY)))).thenReturn(true);
+        var received = new StringBuilder();
+
+        filter.doFilter(post("key-1"), new MockHttpServletResponse(), (request, response) -> {
+            received.append(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            ((HttpServletResponse) response).setStatus(200);
+        });
+
+        assertThat(received.toString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldReplayStoredResponseWithoutRunningRequestAgain() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), anyString())).thenReturn(false);
+        when(store.find(7L, "key-1")).thenReturn(Optional.of(
+                new StoredRequest("POST", PATH, sha256(BODY), 200, "application/json", "{\"id\":5}")));
+        var response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(post("key-1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":5}");
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void shouldReturn409WhileFirstRequestIsRunning() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), anyString())).thenReturn(false);
+        when(store.find(7L, "key-1"))
+                .thenReturn(Optional.of(new StoredRequest("POST", PATH, sha256(BODY), null, null, null)));
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(post("key-1"), response, mock(FilterChain.class));
+
+        assertThat(response.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void shouldReturn422WhenKeyWasUsedForAnotherRequest() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), anyString())).thenReturn(false);
+        when(store.find(7L, "key-1")).thenReturn(Optional.of(
+                new StoredRequest("POST", "/api/me/absences", sha256(BODY), 200, null, "{}")));
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(post("key-1"), response, mock(FilterChain.class));
+
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void shouldReturn422WhenKeyWasUsedWithAnotherBody() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), anyString())).thenReturn(false);
+        when(store.find(7L, "key-1")).thenReturn(Optional.of(
+                new StoredRequest("POST", PATH, sha256("{\"text\":\"Other\"}"), 200, null, "{}")));
+        var response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(post("key-1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void shouldReleaseKeyWhenRequestFailsWithServerError() throws Exception {
+        when(store.claim(eq(7L), eq("key-1"), any(), eq("POST"), eq(PATH), anyString())).thenReturn(true);
+
+        filter.doFilter(post("key-1"), new MockHttpServletResponse(), respondingWith(503, "{}"));
+
+        verify(store).release(eq(7L), eq("key-1"), any());
+        verify(store, never()).complete(anyLong(), anyString(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldRejectOversizedBody() throws Exception {
+        var request = post("key-1");
+        request.setContent(new byte[64 * 1024 + 1]);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, respondingWith(200, "{}"));
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        var request = new MockHttpServletRequest("POST", PATH);
+
+        filter.doFilter(request, new MockHttpServletResponse(), respondingWith(200, "{}"));
+
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void shouldRejectOverlongKey() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(post("k".repeat(101)), response, respondingWith(200, "{}"));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        verifyNoInteractions(store);
+    }
+
+    private static MockHttpServletRequest post(String key) {
+        var request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String sha256(String body) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static FilterChain respondingWith(int status, String body) {
+        return (request, response) -> {
+            var httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write(body);
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.company.common.idempotency;
+
+import com.company.auth.jwt.JwtTokenProvider;
+import com.company.auth.model.AuthenticatedUser;
+import com.company.auth.model.Role;
+import com.company.db.AbstractFlywayIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Retries of a POST with the same {@code Idempotency-Key} against PostgreSQL must not create a second row.
+ */
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = AbstractFlywayIntegrationTest.postgresContainer();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        AbstractFlywayIntegrationTest.registerDataSource(registry, POSTGRES);
+        registry.add("security.jwt.secret", () -> Base64.getEncoder().encodeToString(new byte[32]));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retriedFeedbackPost_shouldBeAppliedOnce() throws Exception {
+        // Seeded by V2: lilia (employee 2) reports to robins (employee 1)
+        var request = post("/api/employees/1/feedback")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenFor(2L))
+                .header(IdempotencyFilter.HEADER, "feedback-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"Great quarter\",\"visibility\":\"EMPLOYEE_AND_MANAGER\"}");
+
+        var first = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+        var retry = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM feedback WHERE text = 'Great quarter'", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void retryWithAnotherBody_shouldBeRejected() throws Exception {
+        mockMvc.perform(feedbackPost("feedback-body-1", "Solid release"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(feedbackPost("feedback-body-1", "Different text"))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM feedback WHERE text = 'Different text'", Long.class)).isZero();
+    }
+
+    @Test
+    void claimPastItsLease_shouldBeTakenOver() throws Exception {
+        // A request that claimed the key and died before completing it
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_key (user_id, idempotency_key, request_method, request_path, claimed_at)
+                VALUES (2, 'feedback-stale-1', 'POST', '/api/employees/1/feedback', NOW() - INTERVAL '10 minutes')
+                """);
+
+        mockMvc.perform(feedbackPost("feedback-stale-1", "Picked up again"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT response_status FROM idempotency_key WHERE user_id = 2 AND idempotency_key = 'feedback-stale-1'",
+                Integer.class)).isEqualTo(200);
+    }
+
+    private MockHttpServletRequestBuilder feedbackPost(String key, String text) {
+        return post("/api/employees/1/feedback")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenFor(2L))
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"" + text + "\",\"visibility\":\"EMPLOYEE_AND_MANAGER\"}");
+    }
+
+    private String tokenFor(long employeeId) {
+        return tokenProvider.createToken(AuthenticatedUser.builder()
+                .userId(employeeId)
+                .employeeId(employeeId)
+                .username("user" + employeeId)
+                .password("")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build());
+    }
+}
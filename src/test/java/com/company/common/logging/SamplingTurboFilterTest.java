@@ -0,0 +1,51 @@
+package com.company.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ch.qos.logback.classic.Logger logger = context.getLogger("test");
+
+    @Test
+    void shouldKeepRoughlyOneInNSampledEvents() {
+        var filter = filter(10);
+
+        var kept = IntStream.range(0, 10_000)
+                .filter(i -> filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, "read", null, null) == FilterReply.NEUTRAL)
+                .count();
+
+        assertThat(kept).isBetween(700L, 1300L);
+    }
+
+    @Test
+    void shouldNeverDropUnmarkedOrWarningEvents() {
+        var filter = filter(1_000_000);
+
+        assertThat(filter.decide(null, logger, Level.INFO, "write", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(LogMarkers.SAMPLED, logger, Level.WARN, "slow", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void shouldKeepEverythingByDefault() {
+        var filter = new SamplingTurboFilter();
+        filter.start();
+
+        assertThat(filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, "read", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    private SamplingTurboFilter filter(int oneIn) {
+        var filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setOneIn(oneIn);
+        filter.start();
+        return filter;
+    }
+}
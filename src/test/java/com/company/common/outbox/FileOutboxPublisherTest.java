@@ -0,0 +1,35 @@
+package com.company.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileOutboxPublisherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void publish_shouldAppendOneJsonLinePerEvent(@TempDir Path dir) throws Exception {
+        var file = dir.resolve("events.jsonl");
+        var publisher = new FileOutboxPublisher(file, objectMapper);
+        var createdAt = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+        publisher.publish(new OutboxMessage(1, "absence", 100, "absence.approved", "{\"status\": \"APPROVED\"}", createdAt));
+        publisher.publish(new OutboxMessage(2, "feedback", 7, "feedback.created", "{}", createdAt));
+
+        var lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        var first = objectMapper.readTree(lines.getFirst());
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("type").asText()).isEqualTo("absence.approved");
+        assertThat(first.get("aggregateId").asLong()).isEqualTo(100);
+        assertThat(first.get("payload").get("status").asText()).isEqualTo("APPROVED");
+        assertThat(first.get("createdAt").asText()).isEqualTo("2025-06-02T09:00");
+    }
+}
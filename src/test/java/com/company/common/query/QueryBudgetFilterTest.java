@@ -0,0 +1,91 @@
+package com.company.common.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldPassRequestWithinDeclaredBudget() throws Exception {
+        var filter = new QueryBudgetFilter(properties(true), meterRegistry);
+
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), issuing(2));
+
+        assertThat(meterRegistry.get("http.server.requests.statements").tag("uri", "/api/things/{id}")
+                .summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.find("query.budget.exceeded").counter()).isNull();
+    }
+
+    @Test
+    void shouldFailRequestAboveDeclaredBudget_whenFailOnExceed() {
+        var filter = new QueryBudgetFilter(properties(true), meterRegistry);
+
+        assertThatThrownBy(() -> filter.doFilter(apiRequest(), new MockHttpServletResponse(), issuing(3)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GET /api/things/{id}")
+                .hasMessageContaining("3 statements, budget 2");
+        assertThat(RequestQueryStats.current()).isEmpty();
+    }
+
+    @Test
+    void shouldOnlyReportRequestAboveBudget_byDefault() throws Exception {
+        var filter = new QueryBudgetFilter(properties(false), meterRegistry);
+
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), issuing(3));
+
+        assertThat(meterRegistry.get("query.budget.exceeded").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotCountNonApiRequests() throws Exception {
+        var filter = new QueryBudgetFilter(properties(true), meterRegistry);
+        var request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                assertThat(RequestQueryStats.current()).isEmpty());
+    }
+
+    // Simulates a handler with a budget of 2 that issues the given number of statements
+    private static FilterChain issuing(int statements) {
+        return (request, response) -> {
+            var stats = RequestQueryStats.current().orElseThrow();
+            for (int i = 0; i < statements; i++) {
+                stats.recordStatement(1);
+            }
+            try {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                        new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("handle")));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/things/{id}");
+        };
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/things/1");
+    }
+
+    private static QueryBudgetProperties properties(boolean failOnExceed) {
+        var properties = new QueryBudgetProperties();
+        properties.setFailOnExceed(failOnExceed);
+        return properties;
+    }
+
+    static class BudgetedHandler {
+
+        @QueryBudget(statements = 2)
+        public void handle() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.common.query;
+
+import com.company.auth.jwt.JwtTokenProvider;
+import com.company.auth.model.AuthenticatedUser;
+import com.company.auth.model.Role;
+import com.company.db.AbstractFlywayIntegrationTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Base64;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the read endpoints against PostgreSQL with {@code query-budget.fail-on-exceed}, so any endpoint issuing more
+ * statements than its {@link QueryBudget} fails here.
+ */
+@Testcontainers
+@SpringBootTest(properties = "query-budget.fail-on-exceed=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = AbstractFlywayIntegrationTest.postgresContainer();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        AbstractFlywayIntegrationTest.registerDataSource(registry, POSTGRES);
+        registry.add("security.jwt.secret", () -> Base64.getEncoder().encodeToString(new byte[32]));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    // Seeded by V2: robins (employee 1) manages lilia (2) and josephk (3)
+    @ParameterizedTest
+    @CsvSource({
+            "1, MANAGER, /api/employees/me/profile",
+            "1, MANAGER, /api/employees/2/profile/private",
+            "1, MANAGER, /api/employees/2/feedback",
+            "1, MANAGER, /api/employees/1/reports",
+            "1, MANAGER, /api/managers/me/absences",
+            "1, MANAGER, /api/managers/me/absences/calendar?from=2025-01-01&to=2025-03-31",
+            "1, MANAGER, /api/managers/me/absences/balances?year=2025",
+            "2, EMPLOYEE, /api/me/absences/balance",
+            "2, EMPLOYEE, /api/employees/3/profile/public",
+            "2, EMPLOYEE, /api/employees/public",
+            "2, EMPLOYEE, /api/employees/directory",
+            "2, EMPLOYEE, /api/employees/search?q=developer",
+            "2, EMPLOYEE, /api/me/absences"
+    })
+    void readEndpoint_shouldStayWithinQueryBudget(long employeeId, Role role, String path) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenFor(employeeId, role)))
+                .andExpect(status().isOk());
+    }
+
+    private String tokenFor(long employeeId, Role role) {
+        return tokenProvider.createToken(AuthenticatedUser.builder()
+                .userId(employeeId)
+                .employeeId(employeeId)
+                .username("user" + employeeId)
+                .password("")
+                .roles(Set.of(role))
+                .build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.common.web;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void shouldReuseIncomingRequestIdAndExposeItToLogging() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/profiles/me");
+        request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+        var response = new MockHttpServletResponse();
+        var seenInChain = new AtomicReference<String>();
+        FilterChain chain = (req, res) -> seenInChain.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(seenInChain.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void shouldGenerateRequestIdWhenHeaderIsMissing() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/profiles/me"), response, (req, res) -> { });
+
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER)).hasSize(36);
+    }
+
+    @Test
+    void shouldReplaceUnsafeRequestId() {
+        assertThat(CorrelationIdFilter.resolveRequestId("bad\nvalue")).isNotEqualTo("bad\nvalue").hasSize(36);
+        assertThat(CorrelationIdFilter.resolveRequestId("x".repeat(65))).hasSize(36);
+    }
+}
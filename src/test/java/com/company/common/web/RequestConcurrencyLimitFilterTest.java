@@ -0,0 +1,99 @@
+package com.company.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldRejectWith503WhenAllPermitsAreTaken() throws Exception {
+        var filter = new RequestConcurrencyLimitFilter(properties(1, Duration.ofMillis(50)), 10, objectMapper);
+        var inside = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            inside.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                filter.doFilter(apiRequest(), new MockHttpServletResponse(), blockingChain);
+                return null;
+            });
+            assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+            var rejected = new MockHttpServletResponse();
+            filter.doFilter(apiRequest(), rejected, new MockFilterChain());
+
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(rejected.getContentAsString()).contains("Too many concurrent requests");
+            release.countDown();
+        }
+
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitWhenRequestFails() throws Exception {
+        var filter = new RequestConcurrencyLimitFilter(properties(1, Duration.ofMillis(50)), 10, objectMapper);
+        FilterChain failingChain = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        try {
+            filter.doFilter(apiRequest(), new MockHttpServletResponse(), failingChain);
+        } catch (IllegalStateException expected) {
+            // propagated to the caller
+        }
+
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLimitNonApiRequests() throws Exception {
+        var filter = new RequestConcurrencyLimitFilter(properties(0, Duration.ofMillis(1)), 0, objectMapper);
+        var request = new MockHttpServletRequest("GET", "/swagger-ui.html");
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldDeriveLimitFromPoolSizeWhenNotSet() {
+        var filter = new RequestConcurrencyLimitFilter(properties(0, Duration.ofMillis(1)), 10, objectMapper);
+
+        assertThat(filter.availablePermits()).isEqualTo(400);
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/employees/1/profile/public");
+    }
+
+    private static RequestConcurrencyProperties properties(int limit, Duration timeout) {
+        var properties = new RequestConcurrencyProperties();
+        properties.setMaxConcurrentRequests(limit);
+        properties.setAcquireTimeout(timeout);
+        return properties;
+    }
+}
@@ -0,0 +1,338 @@
+package com.company.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a realistic org of N employees with accounts, profiles, reporting lines, absences and feedback and
+ * bulk-loads it with PostgreSQL {@code COPY} through the driver's {@link CopyManager}, in one transaction.
+ * <p>
+ * Employee at position {@code n} (1-based) gets id {@code baseId + n}, logs in as {@code user<n>} and reports to
+ * position {@code (n - 2) / fanOut + 1}; the first {@link Result#managers()} positions are managers. Absences of
+ * one employee are a week apart and never overlap. Generation is deterministic for a given seed.
+ * <p>
+ * The closure and cache-notification triggers of {@code employee} and {@code employee_profile} are disabled while
+ * loading (the closure rows are generated directly), so the database user must own those tables. Run against the
+ * database configured by {@code DB_URL}, {@code DB_USERNAME} and {@code DB_PASSWORD}:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.company.datagen.OrgDataGenerator \
+ *     -Dexec.args="50000 1000000 2000000"
+ * </pre>
+ * Arguments: employees, absences, feedback entries, fan-out (default 8).
+ */
+public final class OrgDataGenerator {
+
+    public static final String DEFAULT_PASSWORD = "password";
+
+    private static final String[] FIRST_NAMES = {"Robin", "Lili", "Joseph", "Ted", "Marshall", "Barney", "Tracy",
+            "Ranjit", "Carl", "Wendy", "Patrice", "Zoey", "Quinn", "Nora", "Victoria", "Stella", "James", "Ava"};
+    private static final String[] LAST_NAMES = {"Sherbatsky", "Aldrin", "Komaro", "Mosby", "Eriksen", "Stinson",
+            "McConnell", "Singh", "Smith", "Fischer", "Zhang", "Garcia", "Novak", "Kowalski", "Okafor", "Larsen"};
+    private static final String[] JOB_TITLES = {"Software Engineer", "Senior Software Engineer", "Product Owner",
+            "Designer", "Data Analyst", "Recruiter", "Accountant", "Sales Representative"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Product", "Sales", "Finance", "Human Resources",
+            "Operations"};
+    private static final String[] SKILLS = {"Java, Spring Boot, PostgreSQL", "React, TypeScript", "Negotiation",
+            "Kubernetes, Terraform", "Excel, SQL, Tableau", "Interviewing, Employer branding"};
+    private static final String[] FEEDBACK = {"Great collaboration on the last release.",
+            "Clear communication and thorough reviews.", "Could share progress earlier in the sprint.",
+            "Takes ownership, and helps others get unblocked.", "Very reliable under pressure."};
+    private static final String[] ABSENCE_TYPES = {"VACATION", "VACATION", "VACATION", "SICK", "UNPAID"};
+    private static final String[] ABSENCE_STATUSES = {"APPROVED", "APPROVED", "APPROVED", "REJECTED", "PENDING",
+            "CANCELLED"};
+    private static final LocalDate FIRST_ABSENCE_WEEK = LocalDate.of(2020, 1, 6);
+
+    private final Settings settings;
+
+    public OrgDataGenerator(Settings settings) {
+        if (settings.employees() < 2 || settings.fanOut() < 1) {
+            throw new IllegalArgumentException("At least 2 employees and a positive fan-out are required");
+        }
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        var settings = new Settings(
+                args.length > 0 ? Integer.parseInt(args[0]) : 50_000,
+                args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000,
+                args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000,
+                args.length > 3 ? Integer.parseInt(args[3]) : 8,
+                42L,
+                DEFAULT_PASSWORD);
+
+        var url = System.getenv().getOrDefault("DB_URL", "jdbc:postgresql://localhost:5432/postgres");
+        try (var connection = DriverManager.getConnection(url,
+                System.getenv().getOrDefault("DB_USERNAME", "postgres"), System.getenv("DB_PASSWORD"))) {
+            var result = new OrgDataGenerator(settings).load(connection);
+            var rows = result.rowsPerTable().values().stream().mapToLong(Long::longValue).sum();
+            System.out.println("Loaded " + rows + " rows in " + result.elapsed() + " " + result.rowsPerTable()
+                    + ", employee ids " + (result.baseId() + 1) + ".." + (result.baseId() + result.employees())
+                    + ", log in as user<n> / " + settings.password());
+        }
+    }
+
+    /**
+     * Appends the generated org to the existing data. Commits on success and rolls back on failure.
+     */
+    public Result load(Connection connection) throws SQLException {
+        var started = System.nanoTime();
+        var autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            var baseId = queryLong(connection,
+                    "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM employee), (SELECT COALESCE(MAX(id), 0) FROM user_account))");
+
+            setTriggers(connection, false);
+
+            var random = new SplittableRandom(settings.seed());
+            var rows = new LinkedHashMap<String, Long>();
+            rows.put("user_account", copyUserAccounts(copyManager, baseId));
+            rows.put("user_roles", copyUserRoles(copyManager, baseId));
+            rows.put("employee", copyEmployees(copyManager, baseId, random));
+            rows.put("employee_reporting_closure", copyReportingClosure(copyManager, baseId));
+            rows.put("employee_profile", copyProfiles(copyManager, baseId, random));
+            rows.put("absence_request", copyAbsences(copyManager, baseId, random));
+            rows.put("absence_balance", insertBalances(connection, baseId));
+            rows.put("feedback", copyFeedback(copyManager, baseId, random));
+
+            setTriggers(connection, true);
+
+            // Rows were copied with explicit ids
+            execute(connection, "SELECT setval('user_account_seq', (SELECT MAX(id) FROM user_account))");
+            execute(connection, "SELECT setval('employee_seq', (SELECT MAX(id) FROM employee))");
+
+            connection.commit();
+            execute(connection, "ANALYZE");
+
+            return new Result(baseId, settings.employees(), managers(), rows,
+                    Duration.ofNanos(System.nanoTime() - started));
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Toggles the per-row triggers whose work is replaced by bulk copies (closure) or not needed for fresh rows (cache
+     * notifications). The profile search trigger stays on, so generated profiles are searchable.
+     */
+    private static void setTriggers(Connection connection, boolean enabled) throws SQLException {
+        var action = enabled ? "ENABLE" : "DISABLE";
+        for (var trigger : List.of("trg_employee_cache_invalidation", "trg_employee_reporting_closure_insert",
+                "trg_employee_reporting_closure_update")) {
+            execute(connection, "ALTER TABLE employee " + action + " TRIGGER " + trigger);
+        }
+        execute(connection, "ALTER TABLE employee_profile " + action + " TRIGGER trg_employee_profile_cache_invalidation");
+    }
+
+    private long copyUserAccounts(CopyManager copyManager, long baseId) throws SQLException {
+        var passwordHash = new BCryptPasswordEncoder().encode(settings.password());
+        try (var copy = new CopyWriter(copyManager, "user_account", "id, username, password_hash, employee_id")) {
+            for (int n = 1; n <= settings.employees(); n++) {
+                copy.field(baseId + n).text("user" + n).text(passwordHash).field(baseId + n).endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyUserRoles(CopyManager copyManager, long baseId) throws SQLException {
+        var managers = managers();
+        try (var copy = new CopyWriter(copyManager, "user_roles", "user_account_id, role")) {
+            for (int n = 1; n <= settings.employees(); n++) {
+                copy.field(baseId + n).text(n <= managers ? "MANAGER" : "EMPLOYEE").endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyEmployees(CopyManager copyManager, long baseId, SplittableRandom random) throws SQLException {
+        try (var copy = new CopyWriter(copyManager, "employee",
+                "id, first_name, last_name, email, user_account_id, manager_id")) {
+            for (int n = 1; n <= settings.employees(); n++) {
+                copy.field(baseId + n)
+                        .text(pick(FIRST_NAMES, random))
+                        .text(pick(LAST_NAMES, random))
+                        .text("user" + n + "@generated.company.com")
+                        .field(baseId + n)
+                        .field(n == 1 ? null : baseId + managerOf(n))
+                        .endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyReportingClosure(CopyManager copyManager, long baseId) throws SQLException {
+        try (var copy = new CopyWriter(copyManager, "employee_reporting_closure", "ancestor_id, descendant_id, depth")) {
+            for (int n = 2; n <= settings.employees(); n++) {
+                var depth = 1;
+                for (int ancestor = managerOf(n); ; ancestor = managerOf(ancestor), depth++) {
+                    copy.field(baseId + ancestor).field(baseId + n).field(depth).endRow();
+                    if (ancestor == 1) {
+                        break;
+                    }
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyProfiles(CopyManager copyManager, long baseId, SplittableRandom random) throws SQLException {
+        try (var copy = new CopyWriter(copyManager, "employee_profile",
+                "employee_id, job_title, department, skills, bio, avatar_url, salary, performance_notes, home_address, personal_phone")) {
+            for (int n = 1; n <= settings.employees(); n++) {
+                var department = pick(DEPARTMENTS, random);
+                copy.field(baseId + n)
+                        .text(n <= managers() ? "Manager" : pick(JOB_TITLES, random))
+                        .text(department)
+                        .text(pick(SKILLS, random))
+                        .text("Works in " + department + " since " + (2005 + random.nextInt(20)) + ".")
+                        .text("https://cdn.company.com/avatars/" + n + ".png")
+                        .field(40_000 + random.nextInt(120) * 1_000 + ".00")
+                        .text(random.nextInt(4) == 0 ? "Exceeds expectations" : "Meets expectations")
+                        .text(n + " Generated Street, Berlin")
+                        .text(String.format("+49 170 %07d", n))
+                        .endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyAbsences(CopyManager copyManager, long baseId, SplittableRandom random) throws SQLException {
+        var reports = settings.employees() - 1;
+        var decidedAt = LocalDateTime.of(2020, 1, 1, 9, 0);
+        try (var copy = new CopyWriter(copyManager, "absence_request",
+                "employee_id, approver_id, from_date, to_date, working_days, first_year_working_days, type, status, "
+                        + "decision_at")) {
+            for (int i = 0; i < settings.absences(); i++) {
+                var n = 2 + i % reports;
+                var from = FIRST_ABSENCE_WEEK.plusWeeks(i / reports);
+                var status = pick(ABSENCE_STATUSES, random);
+                var decided = status.equals("APPROVED") || status.equals("REJECTED");
+                // Absences start on a Monday and end within the week, without holidays in the default region
+                var days = 1 + random.nextInt(5);
+                copy.field(baseId + n)
+                        .field(baseId + managerOf(n))
+                        .field(from)
+                        .field(from.plusDays(days - 1))
+                        .field(days)
+                        .field(daysInFirstYear(from, days))
+                        .text(pick(ABSENCE_TYPES, random))
+                        .text(status)
+                        .field(decided ? decidedAt.plusDays(i / reports * 7L) : null)
+                        .endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Books the balances of the copied absences in one statement, as the ledger's reconciliation would: the stored
+     * working days split by year with {@code first_year_working_days}, since a generated week may run into the next
+     * year.
+     */
+    private static long insertBalances(Connection connection, long baseId) throws SQLException {
+        try (var statement = connection.prepareStatement("""
+                INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+                SELECT a.employee_id,
+                       a.type,
+                       y.year,
+                       COALESCE(SUM(y.days) FILTER (WHERE a.status = 'APPROVED'), 0),
+                       COALESCE(SUM(y.days) FILTER (WHERE a.status = 'PENDING'), 0)
+                FROM absence_request a
+                         CROSS JOIN LATERAL (VALUES (EXTRACT(YEAR FROM a.from_date)::INT, a.first_year_working_days),
+                                                    (EXTRACT(YEAR FROM a.to_date)::INT,
+                                                     a.working_days - a.first_year_working_days)) AS y(year, days)
+                WHERE a.employee_id > ?
+                  AND a.status IN ('PENDING', 'APPROVED')
+                  AND y.days <> 0
+                GROUP BY a.employee_id, a.type, y.year
+                """)) {
+            statement.setLong(1, baseId);
+            return statement.executeUpdate();
+        }
+    }
+
+    private long copyFeedback(CopyManager copyManager, long baseId, SplittableRandom random) throws SQLException {
+        var reports = settings.employees() - 1;
+        try (var copy = new CopyWriter(copyManager, "feedback", "employee_id, author_id, text, visibility")) {
+            for (int i = 0; i < settings.feedback(); i++) {
+                var n = 2 + i % reports;
+                // Mostly from the manager, otherwise from a random colleague
+                var author = random.nextInt(3) == 0 ? peerOf(n, random) : managerOf(n);
+                copy.field(baseId + n)
+                        .field(baseId + author)
+                        .text(pick(FEEDBACK, random))
+                        .text(random.nextInt(4) == 0 ? "MANAGER_ONLY" : "EMPLOYEE_AND_MANAGER")
+                        .endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private static int daysInFirstYear(LocalDate from, int days) {
+        var last = from.plusDays(days - 1);
+        return last.getYear() == from.getYear() ? days : days - last.getDayOfYear();
+    }
+
+    private int managers() {
+        return (settings.employees() - 2) / settings.fanOut() + 1;
+    }
+
+    private int managerOf(int position) {
+        return (position - 2) / settings.fanOut() + 1;
+    }
+
+    private int peerOf(int position, SplittableRandom random) {
+        var peer = 1 + random.nextInt(settings.employees() - 1);
+        return peer >= position ? peer + 1 : peer;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * @param employees employees in the org, at least 2
+     * @param absences  absence requests spread evenly over everyone but the top manager
+     * @param feedback  feedback entries spread evenly over everyone but the top manager
+     * @param fanOut    direct reports per manager
+     * @param seed      seed of the generated names, profiles and statuses
+     * @param password  password of every generated account
+     */
+    public record Settings(int employees, int absences, int feedback, int fanOut, long seed, String password) {
+    }
+
+    /**
+     * @param baseId employee and user account id of position {@code n} is {@code baseId + n}
+     */
+    public record Result(long baseId, int employees, int managers, Map<String, Long> rowsPerTable, Duration elapsed) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.datagen;
+
+import com.company.db.AbstractFlywayIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrgDataGeneratorIntegrationTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void load_shouldCopyConsistentOrg() {
+        var generator = new OrgDataGenerator(new OrgDataGenerator.Settings(200, 1_000, 2_000, 5, 7L, "secret"));
+
+        var result = jdbcTemplate.execute((Connection connection) -> generator.load(connection));
+
+        assertThat(result.rowsPerTable())
+                .containsEntry("employee", 200L)
+                .containsEntry("employee_profile", 200L)
+                .containsEntry("absence_request", 1_000L)
+                .containsEntry("feedback", 2_000L);
+        assertThat(result.managers()).isEqualTo(40);
+
+        // Generated closure rows must match the reporting lines
+        var expectedClosure = jdbcTemplate.queryForObject("""
+                WITH RECURSIVE chain (ancestor_id, descendant_id, depth) AS (
+                    SELECT e.manager_id, e.id, 1 FROM employee e WHERE e.manager_id IS NOT NULL AND e.id > ?
+                    UNION ALL
+                    SELECT m.manager_id, c.descendant_id, c.depth + 1
+                    FROM chain c JOIN employee m ON m.id = c.ancestor_id
+                    WHERE m.manager_id IS NOT NULL
+                )
+                SELECT COUNT(*) FROM chain c
+                WHERE NOT EXISTS (SELECT 1 FROM employee_reporting_closure r
+                                  WHERE r.ancestor_id = c.ancestor_id AND r.descendant_id = c.descendant_id AND r.depth = c.depth)
+                """, Long.class, result.baseId());
+        assertThat(expectedClosure).isZero();
+        assertThat(result.rowsPerTable().get("employee_reporting_closure")).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employee_reporting_closure WHERE descendant_id > ?", Long.class, result.baseId()));
+
+        // Balances match what the nightly reconciliation computes from the absences
+        assertThat(result.rowsPerTable().get("absence_balance")).isPositive();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(used_days + pending_days) FROM absence_balance WHERE employee_id > ?",
+                Long.class, result.baseId())).isEqualTo(jdbcTemplate.queryForObject("""
+                SELECT SUM(working_days) FROM absence_request
+                WHERE employee_id > ? AND status IN ('PENDING', 'APPROVED')
+                """, Long.class, result.baseId()));
+        // Per year: weeks running into the next year book each weekday to its own year
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM (SELECT EXTRACT(YEAR FROM d)::INT AS year, COUNT(*) AS days
+                      FROM absence_request a
+                               CROSS JOIN generate_series(a.from_date, a.to_date, INTERVAL '1 day') AS d
+                      WHERE a.employee_id > ? AND a.status IN ('PENDING', 'APPROVED') AND EXTRACT(ISODOW FROM d) < 6
+                      GROUP BY 1
+                      EXCEPT
+                      SELECT year, SUM(used_days + pending_days)
+                      FROM absence_balance
+                      WHERE employee_id > ?
+                      GROUP BY year) AS mismatch
+                """, Long.class, result.baseId(), result.baseId())).isZero();
+
+        // The search trigger stayed on while copying
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employee_profile WHERE employee_id > ? AND search_vector IS NULL",
+                Long.class, result.baseId())).isZero();
+
+        var passwordHash = jdbcTemplate.queryForObject(
+                "SELECT password_hash FROM user_account WHERE username = 'user1'", String.class);
+        assertThat(new BCryptPasswordEncoder().matches("secret", passwordHash)).isTrue();
+
+        // Triggers are back on: a manager change maintains the closure again
+        jdbcTemplate.update("UPDATE employee SET manager_id = ? WHERE id = ?", result.baseId() + 1, result.baseId() + 200);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT depth FROM employee_reporting_closure WHERE ancestor_id = ? AND descendant_id = ?",
+                Integer.class, result.baseId() + 1, result.baseId() + 200)).isEqualTo(1);
+    }
+}
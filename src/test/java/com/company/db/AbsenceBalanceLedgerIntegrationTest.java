@@ -0,0 +1,141 @@
+package com.company.db;
+
+import com.company.absence.dto.AbsenceBalanceDto;
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import com.company.absence.repository.AbsenceRequestRepository;
+import com.company.absence.service.AbsenceBalanceLedger;
+import com.company.employee.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Upserts and reconciliation of the {@code absence_balance} ledger. Uses years without seeded absences and a holiday
+ * region of its own.
+ */
+@Import(AbsenceBalanceLedger.class)
+class AbsenceBalanceLedgerIntegrationTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Autowired
+    private AbsenceBalanceLedger ledger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void transition_shouldSplitDaysByYearAndMoveThemBetweenColumns() {
+        var absence = absence(2L, LocalDate.of(2030, 12, 30), LocalDate.of(2031, 1, 2), 4, 2, AbsenceStatus.PENDING);
+
+        ledger.transition(absence, null, AbsenceStatus.PENDING);
+        assertThat(ledger.balancesOf(List.of(2L), 2030))
+                .extracting(AbsenceBalanceDto::getUsedDays, AbsenceBalanceDto::getPendingDays)
+                .containsExactly(tuple(0, 2));
+
+        ledger.transition(absence, AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+        assertThat(ledger.balancesOf(List.of(2L), 2031))
+                .extracting(AbsenceBalanceDto::getType, AbsenceBalanceDto::getUsedDays, AbsenceBalanceDto::getPendingDays)
+                .containsExactly(tuple(AbsenceType.VACATION, 2, 0));
+    }
+
+    @Test
+    void transition_shouldReverseTheStoredDaysAfterTheHolidayCalendarChanged() {
+        jdbcTemplate.update("UPDATE employee SET region = 'TEST-LEDGER' WHERE id = 2");
+        // Monday to Friday, requested before a holiday on the Wednesday was loaded
+        var absence = absence(2L, LocalDate.of(2031, 3, 3), LocalDate.of(2031, 3, 7), 5, 5, AbsenceStatus.PENDING);
+        ledger.transition(absence, null, AbsenceStatus.PENDING);
+        jdbcTemplate.update("INSERT INTO public_holiday (region, holiday_date, name) VALUES ('TEST-LEDGER', '2031-03-05', 'Test')");
+
+        ledger.transition(absence, AbsenceStatus.PENDING, AbsenceStatus.APPROVED);
+
+        assertThat(ledger.balancesOf(List.of(2L), 2031))
+                .extracting(AbsenceBalanceDto::getUsedDays, AbsenceBalanceDto::getPendingDays)
+                .containsExactly(tuple(5, 0));
+    }
+
+    @Test
+    void reconcile_shouldCorrectDriftedBalancesFromStoredWorkingDays() {
+        // Monday to Sunday with a holiday on the Wednesday as counted when requested, booked without the ledger, and
+        // a balance left over for an employee without absences
+        absence(2L, LocalDate.of(2031, 3, 3), LocalDate.of(2031, 3, 9), 4, 4, AbsenceStatus.APPROVED);
+        jdbcTemplate.update("""
+                INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+                VALUES (3, 'VACATION', 2031, 4, 1)
+                """);
+
+        ledger.reconcile();
+
+        assertThat(ledger.balancesOf(List.of(2L, 3L), 2031))
+                .extracting(AbsenceBalanceDto::getEmployeeId, AbsenceBalanceDto::getUsedDays, AbsenceBalanceDto::getPendingDays)
+                .containsExactly(tuple(2L, 4, 0), tuple(3L, 0, 0));
+    }
+
+    @Test
+    void balancesUnder_shouldResolveTeamThroughReportingClosure() {
+        // Employee 3 moves under employee 2, two levels below employee 1
+        jdbcTemplate.update("UPDATE employee SET manager_id = 2 WHERE id = 3");
+        jdbcTemplate.update("""
+                INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+                VALUES (2, 'VACATION', 2033, 3, 0), (3, 'VACATION', 2033, 1, 2)
+                """);
+
+        assertThat(ledger.balancesUnder(1L, 1, 2033))
+                .extracting(AbsenceBalanceDto::getEmployeeId)
+                .containsExactly(2L);
+        assertThat(ledger.balancesUnder(1L, 20, 2033))
+                .extracting(AbsenceBalanceDto::getEmployeeId, AbsenceBalanceDto::getUsedDays, AbsenceBalanceDto::getPendingDays)
+                .containsExactly(tuple(2L, 3, 0), tuple(3L, 1, 2));
+    }
+
+    @Test
+    void reconcile_shouldSkipWhileAnotherNodeHoldsTheLock() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO absence_balance (employee_id, type, year, used_days, pending_days)
+                VALUES (3, 'VACATION', 2032, 4, 1)
+                """);
+
+        try (var otherNode = dataSource.getConnection(); var lock = otherNode.createStatement()) {
+            lock.execute("SELECT pg_advisory_lock(hashtext('absence_balance.reconcile'))");
+
+            ledger.reconcile();
+
+            lock.execute("SELECT pg_advisory_unlock(hashtext('absence_balance.reconcile'))");
+        }
+        assertThat(ledger.balancesOf(List.of(3L), 2032))
+                .extracting(AbsenceBalanceDto::getUsedDays, AbsenceBalanceDto::getPendingDays)
+                .containsExactly(tuple(4, 1));
+    }
+
+    private AbsenceRequest absence(long employeeId, LocalDate from, LocalDate to, int workingDays,
+                                   int firstYearWorkingDays, AbsenceStatus status) {
+        return absenceRequestRepository.saveAndFlush(AbsenceRequest.builder()
+                .employee(entityManager.find(Employee.class, employeeId))
+                .manager(entityManager.find(Employee.class, 1L))
+                .fromDate(from)
+                .toDate(to)
+                .workingDays(workingDays)
+                .firstYearWorkingDays(firstYearWorkingDays)
+                .type(AbsenceType.VACATION)
+                .status(status)
+                .build());
+    }
+}
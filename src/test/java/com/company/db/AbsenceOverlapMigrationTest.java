@@ -0,0 +1,87 @@
+package com.company.db;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * V11 adds the no-overlap exclusion constraint to a table that may already hold overlapping absences.
+ * Runs the migrations up to V10, seeds overlaps and then applies the rest.
+ */
+@Testcontainers
+class AbsenceOverlapMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = AbstractFlywayIntegrationTest.postgresContainer();
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway("latest").clean();
+        flyway("10").migrate();
+    }
+
+    @Test
+    void overlappingPendingRequests_shouldBeCancelledBeforeConstraintIsAdded() {
+        // Employee 2: two overlapping pending requests, the later one goes
+        insertAbsence(1001, 2, "2025-03-03", "2025-03-07", "PENDING");
+        insertAbsence(1002, 2, "2025-03-05", "2025-03-10", "PENDING");
+        // Employee 3: a pending request overlapping a later approved one, the pending one goes
+        insertAbsence(1003, 3, "2025-04-01", "2025-04-04", "PENDING");
+        insertAbsence(1004, 3, "2025-04-03", "2025-04-08", "APPROVED");
+        // Employee 3: no overlap, untouched
+        insertAbsence(1005, 3, "2025-05-01", "2025-05-02", "PENDING");
+
+        flyway("latest").migrate();
+
+        assertThat(statusOf(1001)).isEqualTo("PENDING");
+        assertThat(statusOf(1002)).isEqualTo("CANCELLED");
+        assertThat(statusOf(1003)).isEqualTo("CANCELLED");
+        assertThat(statusOf(1004)).isEqualTo("APPROVED");
+        assertThat(statusOf(1005)).isEqualTo("PENDING");
+    }
+
+    @Test
+    void overlappingApprovedRequests_shouldFailTheMigrationWithAReport() {
+        insertAbsence(1001, 2, "2025-03-03", "2025-03-07", "APPROVED");
+        insertAbsence(1002, 2, "2025-03-07", "2025-03-10", "APPROVED");
+
+        assertThatThrownBy(() -> flyway("latest").migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("1001 and 1002 (employee 2)");
+        assertThat(statusOf(1001)).isEqualTo("APPROVED");
+        assertThat(statusOf(1002)).isEqualTo("APPROVED");
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .target(target)
+                .load();
+    }
+
+    private void insertAbsence(long id, long employeeId, String from, String to, String status) {
+        jdbcTemplate.update("""
+                INSERT INTO absence_request (id, employee_id, approver_id, from_date, to_date, type, status)
+                VALUES (?, ?, 1, ?::date, ?::date, 'VACATION', ?)
+                """, id, employeeId, from, to, status);
+    }
+
+    private String statusOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM absence_request WHERE id = ?", String.class, id);
+    }
+}
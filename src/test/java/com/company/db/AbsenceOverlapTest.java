@@ -0,0 +1,85 @@
+package com.company.db;
+
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import com.company.absence.repository.AbsenceRequestRepository;
+import com.company.employee.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Overlap rules of the {@code period} range column and its exclusion constraint.
+ */
+class AbsenceOverlapTest extends AbstractFlywayIntegrationTest {
+
+    // Seeded by V2: employee 1 manages employees 2 and 3
+    private static final LocalDate JUNE_2 = LocalDate.of(2025, 6, 2);
+    private static final LocalDate JUNE_6 = LocalDate.of(2025, 6, 6);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Test
+    void existsActiveOverlap_shouldMatchInclusiveBoundsOfActiveAbsencesOnly() {
+        absence(2L, JUNE_2, JUNE_6, AbsenceStatus.PENDING);
+        absence(3L, JUNE_2, JUNE_6, AbsenceStatus.CANCELLED);
+
+        assertThat(absenceRequestRepository.existsActiveOverlap(2L, JUNE_6, JUNE_6.plusDays(3))).isTrue();
+        assertThat(absenceRequestRepository.existsActiveOverlap(2L, JUNE_6.plusDays(1), JUNE_6.plusDays(3))).isFalse();
+        assertThat(absenceRequestRepository.existsActiveOverlap(3L, JUNE_2, JUNE_6)).isFalse();
+    }
+
+    @Test
+    void constraint_shouldRejectOverlappingActiveAbsence() {
+        absence(2L, JUNE_2, JUNE_6, AbsenceStatus.APPROVED);
+
+        assertThatThrownBy(() -> absence(2L, JUNE_6, JUNE_6.plusDays(2), AbsenceStatus.PENDING))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void constraint_shouldAllowOverlapWithRejectedAbsence() {
+        absence(2L, JUNE_2, JUNE_6, AbsenceStatus.REJECTED);
+
+        var again = absence(2L, JUNE_2, JUNE_6, AbsenceStatus.PENDING);
+
+        assertThat(again.getId()).isNotNull();
+    }
+
+    @Test
+    void findTeamAbsencesUnder_shouldReturnSpansWithNames() {
+        absence(2L, JUNE_2, JUNE_6, AbsenceStatus.APPROVED);
+        absence(3L, JUNE_6, JUNE_6.plusDays(7), AbsenceStatus.PENDING);
+        absence(3L, JUNE_2.minusWeeks(2), JUNE_2.minusDays(1), AbsenceStatus.APPROVED);
+
+        var views = absenceRequestRepository.findTeamAbsencesUnder(1L, 1, JUNE_6, JUNE_6);
+
+        assertThat(views).hasSize(2).allSatisfy(view -> {
+            assertThat(view.getLastName()).isNotNull();
+            assertThat(view.getFromDate()).isBeforeOrEqualTo(JUNE_6);
+            assertThat(view.getType()).isEqualTo(AbsenceType.VACATION);
+        });
+    }
+
+    private AbsenceRequest absence(long employeeId, LocalDate from, LocalDate to, AbsenceStatus status) {
+        return absenceRequestRepository.saveAndFlush(AbsenceRequest.builder()
+                .employee(entityManager.find(Employee.class, employeeId))
+                .manager(entityManager.find(Employee.class, 1L))
+                .fromDate(from)
+                .toDate(to)
+                .type(AbsenceType.VACATION)
+                .status(status)
+                .build());
+    }
+}
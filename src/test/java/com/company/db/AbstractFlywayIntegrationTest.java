@@ -14,17 +14,27 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 public abstract class AbstractFlywayIntegrationTest {
 
     @Container
-    private static final PostgreSQLContainer<?> POSTGRES =
-            new PostgreSQLContainer<>("postgres:16-alpine")
-                    .withDatabaseName("employee_profile")
-                    .withUsername("postgres")
-                    .withPassword("test");
+    private static final PostgreSQLContainer<?> POSTGRES = postgresContainer();
 
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
-        registry.add("spring.datasource.username", POSTGRES::getUsername);
-        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registerDataSource(registry, POSTGRES);
+    }
+
+    /**
+     * The PostgreSQL container all database tests run against, also used by the load tests.
+     */
+    public static PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("employee_profile")
+                .withUsername("postgres")
+                .withPassword("test");
+    }
+
+    public static void registerDataSource(DynamicPropertyRegistry registry, PostgreSQLContainer<?> postgres) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
 
         // Let Flyway manage schema, not Hibernate
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
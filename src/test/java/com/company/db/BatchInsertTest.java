@@ -0,0 +1,75 @@
+package com.company.db;
+
+import com.company.auth.entity.UserAccount;
+import com.company.employee.entity.Employee;
+import com.company.feedback.entity.Feedback;
+import com.company.feedback.model.FeedbackVisibility;
+import com.company.feedback.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.EnumSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.Pageable.unpaged;
+
+/**
+ * Guards that inserts of entities deriving from {@code BaseEntity} are batched: ids come from pooled sequences,
+ * so N inserts cost a few sequence calls and one statement per JDBC batch instead of N round trips.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+class BatchInsertTest extends AbstractFlywayIntegrationTest {
+
+    private static final int ROWS = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Test
+    void saveAll_shouldBatchInserts() {
+        // Seeded by V2: employee 1 manages employee 2
+        var manager = entityManager.find(Employee.class, 1L);
+        var employee = entityManager.find(Employee.class, 2L);
+        var feedback = IntStream.range(0, ROWS)
+                .mapToObj(i -> Feedback.builder()
+                        .employee(manager)
+                        .author(employee)
+                        .text("Feedback " + i)
+                        .visibility(FeedbackVisibility.EMPLOYEE_AND_MANAGER)
+                        .build())
+                .toList();
+        var statementCounter = new StatementCounter(entityManager.getEntityManager());
+
+        var statements = statementCounter.count(() -> {
+            feedbackRepository.saveAll(feedback);
+            entityManager.flush();
+        });
+
+        // Two id blocks of 50 and two insert batches of 50
+        assertThat(statements).isLessThanOrEqualTo(4);
+        assertThat(feedback).allSatisfy(f -> assertThat(f.getId()).isNotNull());
+        assertThat(feedback.stream().map(Feedback::getId).distinct()).hasSize(ROWS);
+        assertThat(feedbackRepository.findByEmployeeIdAndVisibilityIn(1L, EnumSet.allOf(FeedbackVisibility.class), unpaged()))
+                .hasSize(ROWS);
+    }
+
+    @Test
+    void persist_shouldAllocateIdsAfterSeededRows() {
+        // V2 inserted user accounts 1 to 3 with explicit ids
+        var account = entityManager.persistFlushFind(UserAccount.builder()
+                .username("newuser")
+                .passwordHash("hash")
+                .build());
+
+        assertThat(account.getId()).isGreaterThan(3L);
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.db;
+
+import com.company.employee.repository.EmployeeProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset paging of the employee directory on PostgreSQL: null filters are ignored and employees sharing a last name
+ * are neither skipped nor repeated across page boundaries.
+ */
+class EmployeeDirectoryPagingTest extends AbstractFlywayIntegrationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private EmployeeProfileRepository employeeProfileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Several employees share a last name, so page boundaries fall inside a group
+        insertEmployee(9001, "Meyer", "Paging", "Developer");
+        insertEmployee(9002, "Meyer", "Paging", "Tester");
+        insertEmployee(9003, "Meyer", "Paging", "Developer");
+        insertEmployee(9004, "Adams", "Paging", "Developer");
+        insertEmployee(9005, "Meyer", "Other", "Developer");
+        insertEmployee(9006, "Zeller", "Paging", "Developer");
+        insertEmployee(9007, "Zeller", "Paging", "Developer");
+    }
+
+    @Test
+    void pages_shouldVisitEveryEmployeeOnceWithoutFilters() {
+        assertThat(pageThrough(null, null)).containsExactlyElementsOf(directoryOrder());
+    }
+
+    @Test
+    void pages_shouldVisitEveryEmployeeOnceWithDepartmentFilter() {
+        assertThat(pageThrough("Paging", null))
+                .containsExactly(9004L, 9001L, 9002L, 9003L, 9006L, 9007L);
+    }
+
+    @Test
+    void pages_shouldVisitEveryEmployeeOnceWithBothFilters() {
+        assertThat(pageThrough("Paging", "Developer"))
+                .containsExactly(9004L, 9001L, 9003L, 9006L, 9007L);
+    }
+
+    private List<Long> pageThrough(String department, String jobTitle) {
+        var pageable = PageRequest.of(0, PAGE_SIZE);
+        var ids = new ArrayList<Long>();
+        var page = employeeProfileRepository.findDirectoryFirstPage(department, jobTitle, pageable);
+        while (!page.isEmpty()) {
+            page.forEach(profile -> ids.add(profile.getEmployee().getId()));
+            var last = page.get(page.size() - 1).getEmployee();
+            page = employeeProfileRepository.findDirectoryPageAfter(
+                    department, jobTitle, last.getLastName(), last.getId(), pageable);
+        }
+        return ids;
+    }
+
+    private List<Long> directoryOrder() {
+        return jdbcTemplate.queryForList("""
+                SELECT e.id
+                FROM employee_profile p
+                         JOIN employee e ON e.id = p.employee_id
+                ORDER BY e.last_name, e.id
+                """, Long.class);
+    }
+
+    private void insertEmployee(long id, String lastName, String department, String jobTitle) {
+        jdbcTemplate.update("INSERT INTO user_account (id, username, password_hash) VALUES (?, ?, 'x')",
+                id, "paging" + id);
+        jdbcTemplate.update("""
+                INSERT INTO employee (id, first_name, last_name, email, user_account_id, manager_id)
+                VALUES (?, 'Paged', ?, ?, ?, 1)
+                """, id, lastName, "paging" + id + "@company.com", id);
+        jdbcTemplate.update("""
+                INSERT INTO employee_profile (id, employee_id, job_title, department)
+                VALUES (?, ?, ?, ?)
+                """, id, id, jobTitle, department);
+    }
+}
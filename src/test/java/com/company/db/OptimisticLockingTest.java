@@ -0,0 +1,48 @@
+package com.company.db;
+
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import com.company.absence.repository.AbsenceRequestRepository;
+import com.company.employee.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticLockingTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Test
+    void save_shouldFailWhenRequestWasDecidedMeanwhile() {
+        // Seeded by V2: employee 1 manages employee 2
+        var stale = entityManager.persistFlushFind(AbsenceRequest.builder()
+                .employee(entityManager.find(Employee.class, 2L))
+                .manager(entityManager.find(Employee.class, 1L))
+                .fromDate(LocalDate.of(2025, 6, 2))
+                .toDate(LocalDate.of(2025, 6, 6))
+                .type(AbsenceType.VACATION)
+                .status(AbsenceStatus.PENDING)
+                .build());
+        assertThat(stale.getVersion()).isZero();
+
+        // Approved by someone else; the bulk update also bumps the version and detaches the stale copy
+        absenceRequestRepository.decidePending(List.of(stale.getId()), AbsenceStatus.APPROVED, LocalDateTime.now());
+        stale.setStatus(AbsenceStatus.CANCELLED);
+
+        assertThatThrownBy(() -> absenceRequestRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.company.db;
+
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxMessage;
+import com.company.common.outbox.OutboxProperties;
+import com.company.common.outbox.OutboxPublisher;
+import com.company.common.outbox.OutboxRelay;
+import com.company.common.outbox.OutboxWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writing, relaying and locking of {@code outbox_event} rows. Only events of the {@code test} aggregate are asserted.
+ */
+class OutboxRelayIntegrationTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+    private final OutboxProperties properties = new OutboxProperties();
+    private OutboxWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        writer = new OutboxWriter(jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void relay_shouldPublishInIdOrderAcrossBatchesOnlyOnce() {
+        writer.appendAll(List.of(event(1L), event(2L), event(3L)));
+
+        relay(published::add).relay();
+        relay(published::add).relay();
+
+        assertThat(testEvents()).extracting(OutboxMessage::aggregateId).containsExactly(1L, 2L, 3L);
+        assertThat(testEvents().getFirst().payload()).contains("\"name\": \"event 1\"");
+        assertThat(unpublishedTestEvents()).isZero();
+    }
+
+    @Test
+    void relay_shouldStopAtFailingEventAndRetryIt() {
+        writer.appendAll(List.of(event(1L), event(2L)));
+        OutboxPublisher failingOnSecond = message -> {
+            if (message.aggregateType().equals("test") && message.aggregateId() == 2L) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            published.add(message);
+        };
+
+        relay(failingOnSecond).relay();
+
+        assertThat(testEvents()).extracting(OutboxMessage::aggregateId).containsExactly(1L);
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT attempts, last_error FROM outbox_event WHERE aggregate_type = 'test' AND aggregate_id = 2"))
+                .isEqualTo(Map.of("attempts", 1, "last_error", "broker unavailable"));
+
+        relay(published::add).relay();
+
+        assertThat(testEvents()).extracting(OutboxMessage::aggregateId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void relay_shouldSkipEventsLockedByAnotherRelay() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                writer.appendAll(List.of(event(1L), event(2L))));
+        try (var otherRelay = dataSource.getConnection()) {
+            otherRelay.setAutoCommit(false);
+            try (var lock = otherRelay.createStatement()) {
+                lock.execute("SELECT id FROM outbox_event WHERE aggregate_type = 'test' AND aggregate_id = 1 FOR UPDATE");
+            }
+
+            relay(published::add).relay();
+            assertThat(testEvents()).extracting(OutboxMessage::aggregateId).containsExactly(2L);
+
+            otherRelay.rollback();
+        } finally {
+            jdbcTemplate.update("DELETE FROM outbox_event WHERE aggregate_type = 'test'");
+        }
+    }
+
+    @Test
+    void relay_shouldParkEventAfterMaxAttemptsAndMoveOn() {
+        properties.setMaxAttempts(3);
+        writer.appendAll(List.of(event(1L), event(2L)));
+        var meterRegistry = new SimpleMeterRegistry();
+        OutboxPublisher alwaysFailing = message -> {
+            throw new IllegalStateException("malformed payload");
+        };
+
+        for (int run = 0; run < 3; run++) {
+            relay(alwaysFailing, meterRegistry).relay();
+        }
+
+        // The third failure parks event 1, the same run moves on to event 2
+        assertThat(jdbcTemplate.queryForMap("""
+                SELECT attempts, failed_at IS NOT NULL AS parked
+                FROM outbox_event WHERE aggregate_type = 'test' AND aggregate_id = 1
+                """)).isEqualTo(Map.of("attempts", 3, "parked", true));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_event WHERE aggregate_type = 'test' AND aggregate_id = 2", Integer.class))
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("outbox.events.parked").count()).isEqualTo(1.0);
+
+        relay(published::add).relay();
+
+        assertThat(testEvents()).extracting(OutboxMessage::aggregateId).containsExactly(2L);
+        assertThat(unpublishedTestEvents()).isEqualTo(1);
+    }
+
+    private OutboxRelay relay(OutboxPublisher publisher) {
+        return relay(publisher, new SimpleMeterRegistry());
+    }
+
+    private OutboxRelay relay(OutboxPublisher publisher, SimpleMeterRegistry meterRegistry) {
+        return new OutboxRelay(namedJdbcTemplate, new TransactionTemplate(transactionManager), publisher, properties,
+                meterRegistry);
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent("test", id, "test.created", Map.of("name", "event " + id));
+    }
+
+    private List<OutboxMessage> testEvents() {
+        return published.stream().filter(message -> message.aggregateType().equals("test")).toList();
+    }
+
+    private int unpublishedTestEvents() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_event WHERE aggregate_type = 'test' AND published_at IS NULL", Integer.class);
+    }
+}
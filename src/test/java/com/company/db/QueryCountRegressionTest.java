@@ -0,0 +1,185 @@
+package com.company.db;
+
+import com.company.absence.entity.AbsenceRequest;
+import com.company.absence.mapper.AbsenceRequestMapper;
+import com.company.absence.model.AbsenceStatus;
+import com.company.absence.model.AbsenceType;
+import com.company.absence.repository.AbsenceRequestRepository;
+import com.company.employee.entity.Employee;
+import com.company.employee.mapper.EmployeeProfileMapper;
+import com.company.employee.repository.EmployeeProfileRepository;
+import com.company.feedback.entity.Feedback;
+import com.company.feedback.mapper.FeedbackMapper;
+import com.company.feedback.model.FeedbackVisibility;
+import com.company.feedback.repository.FeedbackRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.Pageable.unpaged;
+
+/**
+ * Guards the number of SQL statements behind the list endpoints.
+ * Each check loads and maps a list the way the corresponding service does and must stay at one statement,
+ * regardless of how many rows are returned.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class QueryCountRegressionTest extends AbstractFlywayIntegrationTest {
+
+    // Seeded by V2: employee 1 manages employees 2 and 3
+    private static final long MANAGER_ID = 1L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EmployeeProfileRepository employeeProfileRepository;
+
+    private final AbsenceRequestMapper absenceRequestMapper = Mappers.getMapper(AbsenceRequestMapper.class);
+    private final FeedbackMapper feedbackMapper = Mappers.getMapper(FeedbackMapper.class);
+    private final EmployeeProfileMapper employeeProfileMapper = Mappers.getMapper(EmployeeProfileMapper.class);
+
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        var manager = entityManager.find(Employee.class, MANAGER_ID);
+        for (long employeeId : new long[]{2L, 3L}) {
+            var employee = entityManager.find(Employee.class, employeeId);
+            for (int i = 0; i < 3; i++) {
+                entityManager.persist(AbsenceRequest.builder()
+                        .employee(employee)
+                        .manager(manager)
+                        .fromDate(LocalDate.of(2025, 3, 1).plusWeeks(i))
+                        .toDate(LocalDate.of(2025, 3, 2).plusWeeks(i))
+                        .type(AbsenceType.VACATION)
+                        .status(AbsenceStatus.PENDING)
+                        .build());
+            }
+            entityManager.persist(Feedback.builder()
+                    .employee(manager)
+                    .author(employee)
+                    .text("Feedback from " + employeeId)
+                    .visibility(FeedbackVisibility.EMPLOYEE_AND_MANAGER)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statementCounter = new StatementCounter(entityManager.getEntityManager());
+    }
+
+    @Test
+    void pendingAbsencesForTeam_shouldUseSingleStatement() {
+        var statements = statementCounter.count(() -> {
+            var page = absenceRequestRepository.findByManagerIdAndStatusOrderByFromDateDesc(
+                    MANAGER_ID, AbsenceStatus.PENDING, unpaged());
+            var dtos = absenceRequestMapper.toDtoList(page.getContent());
+            assertThat(dtos).hasSize(6).allSatisfy(dto -> assertThat(dto.getEmployeeFirstName()).isNotNull());
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void myAbsences_shouldUseSingleStatement() {
+        var statements = statementCounter.count(() -> {
+            var page = absenceRequestRepository.findByEmployeeIdOrderByFromDateDesc(2L, unpaged());
+            var dtos = absenceRequestMapper.toDtoList(page.getContent());
+            assertThat(dtos).hasSize(3);
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void feedbackForEmployee_shouldUseSingleStatement() {
+        var statements = statementCounter.count(() -> {
+            var page = feedbackRepository.findByEmployeeIdAndVisibilityIn(
+                    MANAGER_ID, EnumSet.allOf(FeedbackVisibility.class), unpaged());
+            var dtos = feedbackMapper.toDtoList(page.getContent());
+            assertThat(dtos).hasSize(2).allSatisfy(dto -> assertThat(dto.getAuthorFirstName()).isNotNull());
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void allPublicProfiles_shouldUseSingleStatement() {
+        var statements = statementCounter.count(() -> {
+            var dtos = employeeProfileMapper.toPublicDtoList(employeeProfileRepository.findAll());
+            assertThat(dtos).hasSize(3).allSatisfy(dto -> assertThat(dto.getLastName()).isNotNull());
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void directoryPage_shouldUseSingleStatement() {
+        var statements = statementCounter.count(() -> {
+            var rows = employeeProfileRepository.findDirectoryFirstPage(null, null, PageRequest.of(0, 10));
+            var dtos = employeeProfileMapper.toPublicDtoList(rows);
+            assertThat(dtos).hasSize(3);
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void singleProfile_shouldUseSingleStatement() {
+        var statements = statementCounter.count(() -> {
+            var profile = employeeProfileRepository.findByEmployeeId(2L).orElseThrow();
+            var dto = employeeProfileMapper.toPrivateDto(profile);
+            assertThat(dto.getEmail()).isNotNull();
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void bulkDecisionLookup_shouldFetchEmployeeRegionsInSingleStatement() {
+        var ids = absenceRequestRepository.findByManagerIdAndStatusOrderByFromDateDesc(
+                        MANAGER_ID, AbsenceStatus.PENDING, unpaged())
+                .map(AbsenceRequest::getId)
+                .toList();
+        entityManager.clear();
+
+        var statements = statementCounter.count(() ->
+                assertThat(absenceRequestRepository.findWithEmployeeByIdIn(ids))
+                        .hasSize(6)
+                        .allSatisfy(request -> assertThat(request.getEmployee().getRegion()).isEqualTo(Employee.DEFAULT_REGION)));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void bulkDecision_shouldUseSingleUpdateStatement() {
+        var ids = absenceRequestRepository.findByManagerIdAndStatusOrderByFromDateDesc(
+                        MANAGER_ID, AbsenceStatus.PENDING, unpaged())
+                .map(AbsenceRequest::getId)
+                .toList();
+
+        var statements = statementCounter.count(() ->
+                assertThat(absenceRequestRepository.decidePending(ids, AbsenceStatus.APPROVED, LocalDateTime.now()))
+                        .isEqualTo(6));
+
+        assertThat(statements).isEqualTo(1);
+        // Already decided requests are no longer pending
+        assertThat(absenceRequestRepository.decidePending(ids, AbsenceStatus.REJECTED, LocalDateTime.now())).isZero();
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.employee.cache;
+
+import com.company.employee.dto.EmployeeProfilePrivateDto;
+import com.company.employee.model.EmployeeProfileChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeProfileCacheTest {
+
+    private final EmployeeProfileCache cache = new EmployeeProfileCache(new ProfileCacheProperties());
+
+    @Test
+    void get_shouldReturnCopyThatDoesNotAffectCachedSnapshot() {
+        var profile = EmployeeProfilePrivateDto.builder().employeeId(1L).jobTitle("Developer").build();
+        cache.put(1L, profile);
+        profile.setJobTitle("Changed after put");
+
+        var first = cache.get(1L).orElseThrow();
+        first.setJobTitle("Changed by caller");
+
+        assertThat(cache.get(1L)).get()
+                .extracting(EmployeeProfilePrivateDto::getJobTitle)
+                .isEqualTo("Developer");
+    }
+
+    @Test
+    void onProfileChanged_shouldEvictEmployee() {
+        cache.put(1L, EmployeeProfilePrivateDto.builder().employeeId(1L).build());
+        cache.put(2L, EmployeeProfilePrivateDto.builder().employeeId(2L).build());
+
+        cache.onProfileChanged(new EmployeeProfileChangedEvent(1L));
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isPresent();
+    }
+
+    @Test
+    void putIfCurrent_shouldSkipSnapshotLoadedBeforeEviction() {
+        var generation = cache.generation(1L);
+        cache.onProfileChanged(new EmployeeProfileChangedEvent(1L));
+
+        var cached = cache.putIfCurrent(1L, generation, EmployeeProfilePrivateDto.builder().employeeId(1L).build());
+
+        assertThat(cached).isFalse();
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void putIfCurrent_shouldSkipSnapshotLoadedBeforeEvictAll() {
+        var generation = cache.generation(1L);
+        cache.evictAll();
+
+        assertThat(cache.putIfCurrent(1L, generation, EmployeeProfilePrivateDto.builder().employeeId(1L).build()))
+                .isFalse();
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void putIfCurrent_shouldCacheWhenNothingWasEvicted() {
+        var generation = cache.generation(1L);
+        cache.evict(2L);
+
+        assertThat(cache.putIfCurrent(1L, generation, EmployeeProfilePrivateDto.builder().employeeId(1L).build()))
+                .isTrue();
+        assertThat(cache.get(1L)).isPresent();
+    }
+
+    @Test
+    void stats_shouldCountHitsAndMisses() {
+        cache.put(1L, EmployeeProfilePrivateDto.builder().employeeId(1L).build());
+
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bindTo_shouldPublishCacheMetrics() {
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.put(1L, EmployeeProfilePrivateDto.builder().employeeId(1L).build());
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(registry.get("cache.gets").tags("cache", "profile", "result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tags("cache", "profile", "result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -1,9 +1,12 @@
 package com.company.employee.controller;
 
 import com.company.common.api.GlobalExceptionHandler;
+import com.company.employee.dto.EmployeeDirectoryPageDto;
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
 import com.company.employee.dto.EmployeeProfileUpdateRequest;
+import com.company.employee.dto.EmployeeReportDto;
+import com.company.employee.dto.EmployeeSearchPageDto;
 import com.company.employee.service.EmployeeProfileService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -141,4 +144,58 @@ class EmployeeProfileControllerIntegrationTest {
         mockMvc.perform(get("/api/employees/public"))
                 .andExpect(status().isOk());
     }
+
+    @WithMockUser(roles = "EMPLOYEE")
+    @Test
+    void getDirectory_shouldPassFiltersAndCursorToService() throws Exception {
+        var page = EmployeeDirectoryPageDto.builder()
+                .items(List.of(EmployeeProfilePublicDto.builder().employeeId(2L).build()))
+                .nextCursor("next")
+                .build();
+        when(employeeProfileService.getDirectory("IT", null, "abc", 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/employees/directory")
+                        .param("department", "IT")
+                        .param("cursor", "abc")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].employeeId").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(employeeProfileService).getDirectory("IT", null, "abc", 20);
+    }
+
+    @WithMockUser(roles = "EMPLOYEE")
+    @Test
+    void searchPublicProfiles_shouldReturnResultsPage() throws Exception {
+        var page = EmployeeSearchPageDto.builder()
+                .items(List.of(EmployeeProfilePublicDto.builder().employeeId(3L).lastName("Komaro").build()))
+                .page(0)
+                .size(20)
+                .hasNext(false)
+                .build();
+        when(employeeProfileService.searchPublicProfiles("komaro", null, null)).thenReturn(page);
+
+        mockMvc.perform(get("/api/employees/search").param("q", "komaro"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].lastName").value("Komaro"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(employeeProfileService).searchPublicProfiles("komaro", null, null);
+    }
+
+    @WithMockUser(roles = "MANAGER")
+    @Test
+    void getReports_shouldReturnReportsWithDepth() throws Exception {
+        var report = EmployeeReportDto.builder().employeeId(3L).managerId(2L).depth(2).build();
+        when(employeeProfileService.getReports(1L, 5)).thenReturn(List.of(report));
+
+        mockMvc.perform(get("/api/employees/1/reports").param("maxDepth", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employeeId").value(3))
+                .andExpect(jsonPath("$[0].managerId").value(2))
+                .andExpect(jsonPath("$[0].depth").value(2));
+
+        verify(employeeProfileService).getReports(1L, 5);
+    }
 }
@@ -1,5 +1,6 @@
 package com.company.employee.mapper;
 
+import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.entity.Employee;
 import com.company.employee.entity.EmployeeProfile;
 import org.junit.jupiter.api.Test;
@@ -84,6 +85,26 @@ class EmployeeProfileMapperTest {
         assertThat(dto.getAvatarUrl()).isEqualTo("https://cdn.example.com/avatar/bob.png");
     }
 
+    @Test
+    void toPublicDto_fromPrivateSnapshot_shouldCopyPublicFields() {
+        var snapshot = EmployeeProfilePrivateDto.builder()
+                .employeeId(2L)
+                .firstName("Bob")
+                .lastName("Miller")
+                .jobTitle("Developer")
+                .department("Engineering")
+                .salary(new BigDecimal("65000.00"))
+                .build();
+
+        var dto = mapper.toPublicDto(snapshot);
+
+        assertThat(dto.getEmployeeId()).isEqualTo(2L);
+        assertThat(dto.getFirstName()).isEqualTo("Bob");
+        assertThat(dto.getLastName()).isEqualTo("Miller");
+        assertThat(dto.getJobTitle()).isEqualTo("Developer");
+        assertThat(dto.getDepartment()).isEqualTo("Engineering");
+    }
+
     @Test
     void toPublicDtoList_shouldNotExposeSensitiveFields() {
         var employee = Employee.builder()
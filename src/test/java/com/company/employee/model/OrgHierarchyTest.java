@@ -0,0 +1,78 @@
+package com.company.employee.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrgHierarchyTest {
+
+    // 1 manages 2 and 3, 3 manages 4
+    private final OrgHierarchy hierarchy = OrgHierarchy.of(
+            new long[]{1L, 2L, 3L, 4L},
+            new long[]{0L, 1L, 1L, 3L}
+    );
+
+    @Test
+    void isManagerOf_shouldOnlyMatchDirectManager() {
+        assertThat(hierarchy.isManagerOf(1L, 2L)).isTrue();
+        assertThat(hierarchy.isManagerOf(3L, 4L)).isTrue();
+        assertThat(hierarchy.isManagerOf(1L, 4L)).isFalse();
+        assertThat(hierarchy.isManagerOf(2L, 1L)).isFalse();
+        assertThat(hierarchy.isManagerOf(0L, 1L)).isFalse();
+        assertThat(hierarchy.isManagerOf(1L, 99L)).isFalse();
+    }
+
+    @Test
+    void reportsOf_shouldReturnDirectReports() {
+        assertThat(hierarchy.reportsOf(1L)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(hierarchy.reportsOf(3L)).containsExactly(4L);
+        assertThat(hierarchy.reportsOf(4L)).isEmpty();
+        assertThat(hierarchy.reportsOf(99L)).isEmpty();
+    }
+
+    @Test
+    void managerOf_shouldBeEmptyForTopOfHierarchy() {
+        assertThat(hierarchy.managerOf(4L)).hasValue(3L);
+        assertThat(hierarchy.managerOf(1L)).isEmpty();
+    }
+
+    @Test
+    void withManager_shouldMoveEmployeeWithoutChangingOriginal() {
+        var updated = hierarchy.withManager(4L, 2L);
+
+        assertThat(updated.isManagerOf(2L, 4L)).isTrue();
+        assertThat(updated.reportsOf(3L)).isEmpty();
+        assertThat(hierarchy.isManagerOf(3L, 4L)).isTrue();
+    }
+
+    @Test
+    void withManager_shouldAddUnknownEmployee() {
+        var updated = hierarchy.withManager(5L, 1L);
+
+        assertThat(updated.size()).isEqualTo(5);
+        assertThat(updated.reportsOf(1L)).containsExactlyInAnyOrder(2L, 3L, 5L);
+        assertThat(hierarchy.contains(5L)).isFalse();
+    }
+
+    @Test
+    void of_shouldRejectDuplicateIds() {
+        assertThatThrownBy(() -> OrgHierarchy.of(new long[]{1L, 1L}, new long[]{0L, 0L}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate employee id");
+    }
+
+    @Test
+    void of_shouldHandleLargeHierarchies() {
+        var employeeIds = LongStream.rangeClosed(1, 10_000).toArray();
+        var managerIds = LongStream.rangeClosed(1, 10_000).map(id -> id == 1 ? 0 : (id + 8) / 10).toArray();
+
+        var large = OrgHierarchy.of(employeeIds, managerIds);
+
+        assertThat(large.size()).isEqualTo(10_000);
+        assertThat(large.isManagerOf(1L, 2L)).isTrue();
+        assertThat(large.isManagerOf(1_000L, 9_992L)).isTrue();
+        assertThat(large.reportsOf(5L)).hasSize(10);
+    }
+}
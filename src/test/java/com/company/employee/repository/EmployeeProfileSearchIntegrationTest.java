@@ -0,0 +1,45 @@
+package com.company.employee.repository;
+
+import com.company.db.AbstractFlywayIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeProfileSearchIntegrationTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private EmployeeProfileRepository employeeProfileRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void search_shouldMatchNameDespiteTypo() {
+        var results = employeeProfileRepository.search("Sherbatzky", 10, 0);
+
+        assertThat(results).isNotEmpty();
+        assertThat(results.get(0).getEmployeeId()).isEqualTo(1L);
+        assertThat(results.get(0).getLastName()).isEqualTo("Sherbatsky");
+    }
+
+    @Test
+    void search_shouldMatchSkillsAndRankBestMatchFirst() {
+        var results = employeeProfileRepository.search("full stack", 10, 0);
+
+        assertThat(results).isNotEmpty();
+        assertThat(results.get(0).getEmployeeId()).isEqualTo(2L);
+    }
+
+    @Test
+    void search_shouldReflectProfileUpdates() {
+        var profile = employeeProfileRepository.findByEmployeeId(3L).orElseThrow();
+        profile.setSkills("Kubernetes");
+        entityManager.flush();
+
+        var results = employeeProfileRepository.search("kubernetes", 10, 0);
+
+        assertThat(results).extracting(EmployeeProfilePublicView::getEmployeeId).containsExactly(3L);
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.employee.repository;
+
+import com.company.db.AbstractFlywayIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmployeeReportingClosureIntegrationTest extends AbstractFlywayIntegrationTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void isInReportingChain_shouldReflectSeededHierarchy() {
+        assertThat(employeeRepository.isInReportingChain(1L, 2L)).isTrue();
+        assertThat(employeeRepository.isInReportingChain(1L, 3L)).isTrue();
+        assertThat(employeeRepository.isInReportingChain(2L, 3L)).isFalse();
+        assertThat(employeeRepository.isInReportingChain(2L, 1L)).isFalse();
+    }
+
+    @Test
+    void findReportsUnder_shouldFollowManagerChanges() {
+        var komaro = employeeRepository.findById(3L).orElseThrow();
+        komaro.setManager(employeeRepository.getReferenceById(2L));
+        entityManager.flush();
+
+        var reports = employeeRepository.findReportsUnder(1L, 10);
+
+        assertThat(reports).extracting(EmployeeReportView::getEmployeeId).containsExactly(2L, 3L);
+        assertThat(reports).extracting(EmployeeReportView::getDepth).containsExactly(1, 2);
+        assertThat(reports.get(1).getManagerId()).isEqualTo(2L);
+        assertThat(employeeRepository.isInReportingChain(2L, 3L)).isTrue();
+        assertThat(employeeRepository.findReportsUnder(1L, 1))
+                .extracting(EmployeeReportView::getEmployeeId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void managerChange_shouldRejectReportingCycles() {
+        var sherbatsky = employeeRepository.findById(1L).orElseThrow();
+        sherbatsky.setManager(employeeRepository.getReferenceById(2L));
+
+        assertThatThrownBy(() -> entityManager.flush())
+                .hasStackTraceContaining("reporting cycle");
+    }
+}
@@ -3,19 +3,30 @@ package com.company.employee.service.impl;
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
 import com.company.auth.security.SecurityUtils;
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxWriter;
+import com.company.employee.cache.EmployeeProfileCache;
+import com.company.employee.cache.ProfileCacheProperties;
 import com.company.employee.dto.EmployeeProfilePrivateDto;
 import com.company.employee.dto.EmployeeProfilePublicDto;
 import com.company.employee.dto.EmployeeProfileUpdateRequest;
+import com.company.employee.dto.EmployeeReportDto;
 import com.company.employee.entity.Employee;
 import com.company.employee.entity.EmployeeProfile;
 import com.company.employee.mapper.EmployeeProfileMapper;
+import com.company.employee.repository.EmployeeProfilePublicView;
 import com.company.employee.repository.EmployeeProfileRepository;
+import com.company.employee.repository.EmployeeReportView;
 import com.company.employee.repository.EmployeeRepository;
+import com.company.employee.service.OrgHierarchyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.math.BigDecimal;
@@ -38,6 +49,18 @@ class EmployeeProfileServiceImplTest {
     @Mock
     private EmployeeProfileMapper profileMapper;
 
+    @Mock
+    private OrgHierarchyService orgHierarchyService;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Spy
+    private EmployeeProfileCache profileCache = new EmployeeProfileCache(new ProfileCacheProperties());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private EmployeeProfileServiceImpl service;
 
@@ -154,6 +177,7 @@ class EmployeeProfileServiceImplTest {
         try (MockedStatic<SecurityUtils> securityUtils = mockStatic(SecurityUtils.class)) {
             securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
             when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+            when(orgHierarchyService.isInReportingChain(2L, 1L)).thenReturn(true);
             when(profileRepository.findByEmployeeId(1L)).thenReturn(Optional.of(profile));
             when(profileMapper.toPrivateDto(profile)).thenReturn(dto);
 
@@ -225,6 +249,7 @@ class EmployeeProfileServiceImplTest {
             assertThat(result.getEmployeeId()).isEqualTo(1L);
             assertThat(result.getJobTitle()).isEqualTo("New Title");
             assertThat(result.getSalary()).isEqualTo(new BigDecimal("2000.00"));
+            verify(outboxWriter).append(new OutboxEvent("employee-profile", 1L, "employee-profile.updated", dto));
 
             verify(profileRepository).save(captor.capture());
             var capturedProfile = captor.getValue();
@@ -240,6 +265,23 @@ class EmployeeProfileServiceImplTest {
         }
     }
 
+    @Test
+    void updateProfile_shouldDenySkipLevelManager() {
+        var user = AuthenticatedUser.builder().userId(10L).employeeId(1L).roles(Set.of(Role.MANAGER)).build();
+        var employee = Employee.builder().id(3L).build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(employeeRepository.findById(3L)).thenReturn(Optional.of(employee));
+            when(orgHierarchyService.isManagerOf(1L, 3L)).thenReturn(false);
+
+            assertThatThrownBy(() -> service.updateProfile(3L, EmployeeProfileUpdateRequest.builder().build()))
+                    .isInstanceOf(AccessDeniedException.class);
+            verify(profileRepository, never()).save(any());
+            verify(orgHierarchyService, never()).isInReportingChain(any(), any());
+        }
+    }
+
     @Test
     void getPrivateProfile_shouldThrowIfEmployeeNotFound() {
         var user = AuthenticatedUser.builder()
@@ -275,6 +317,10 @@ class EmployeeProfileServiceImplTest {
                 .id(1L)
                 .employee(employee)
                 .build();
+        var snapshot = EmployeeProfilePrivateDto.builder()
+                .employeeId(1L)
+                .firstName("Alice")
+                .build();
         var dto = EmployeeProfilePublicDto.builder()
                 .employeeId(1L)
                 .firstName("Alice")
@@ -282,9 +328,9 @@ class EmployeeProfileServiceImplTest {
 
         try (var securityUtils = mockStatic(SecurityUtils.class)) {
             securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
-            when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
             when(profileRepository.findByEmployeeId(1L)).thenReturn(Optional.of(profile));
-            when(profileMapper.toPublicDto(profile)).thenReturn(dto);
+            when(profileMapper.toPrivateDto(profile)).thenReturn(snapshot);
+            when(profileMapper.toPublicDto(snapshot)).thenReturn(dto);
 
             var result = service.getPublicProfile(1L);
 
@@ -313,6 +359,10 @@ class EmployeeProfileServiceImplTest {
                 .id(100L)
                 .employee(employee)
                 .build();
+        var snapshot = EmployeeProfilePrivateDto.builder()
+                .employeeId(1L)
+                .firstName("Alice")
+                .build();
         var dto = EmployeeProfilePublicDto.builder()
                 .employeeId(1L)
                 .firstName("Alice")
@@ -320,9 +370,9 @@ class EmployeeProfileServiceImplTest {
 
         try (MockedStatic<SecurityUtils> securityUtils = mockStatic(SecurityUtils.class)) {
             securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(managerUser);
-            when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
             when(profileRepository.findByEmployeeId(1L)).thenReturn(Optional.of(profile));
-            when(profileMapper.toPublicDto(profile)).thenReturn(dto);
+            when(profileMapper.toPrivateDto(profile)).thenReturn(snapshot);
+            when(profileMapper.toPublicDto(snapshot)).thenReturn(dto);
 
             var result = service.getPublicProfile(1L);
 
@@ -378,4 +428,310 @@ class EmployeeProfileServiceImplTest {
         }
     }
 
+    @Test
+    void getDirectory_shouldReturnPageWithCursorWhenMoreRowsExist() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var aldrin = Employee.builder().id(2L).lastName("Aldrin").build();
+        var komaro = Employee.builder().id(3L).lastName("Komaro").build();
+        var profile1 = EmployeeProfile.builder().id(20L).employee(aldrin).build();
+        var profile2 = EmployeeProfile.builder().id(30L).employee(komaro).build();
+        var dto1 = EmployeeProfilePublicDto.builder().employeeId(2L).build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(profileRepository.findDirectoryFirstPage(eq("IT"), isNull(), any(Pageable.class)))
+                    .thenReturn(List.of(profile1, profile2));
+            when(profileMapper.toPublicDtoList(List.of(profile1))).thenReturn(List.of(dto1));
+
+            var result = service.getDirectory("IT", " ", null, 1);
+
+            assertThat(result.getItems()).containsExactly(dto1);
+            assertThat(result.getNextCursor()).isNotBlank();
+            var cursor = EmployeeDirectoryCursor.decode(result.getNextCursor());
+            assertThat(cursor.lastName()).isEqualTo("Aldrin");
+            assertThat(cursor.employeeId()).isEqualTo(2L);
+            verify(profileRepository).findDirectoryFirstPage(eq("IT"), isNull(),
+                    argThat(pageable -> pageable.getPageSize() == 2));
+        }
+    }
+
+    @Test
+    void getDirectory_shouldContinueFromCursorAndStopOnLastPage() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var komaro = Employee.builder().id(3L).lastName("Komaro").build();
+        var profile = EmployeeProfile.builder().id(30L).employee(komaro).build();
+        var dto = EmployeeProfilePublicDto.builder().employeeId(3L).build();
+        var cursor = new EmployeeDirectoryCursor("Aldrin", 2L).encode();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(profileRepository.findDirectoryPageAfter(isNull(), isNull(), eq("Aldrin"), eq(2L), any(Pageable.class)))
+                    .thenReturn(List.of(profile));
+            when(profileMapper.toPublicDtoList(List.of(profile))).thenReturn(List.of(dto));
+
+            var result = service.getDirectory(null, null, cursor, null);
+
+            assertThat(result.getItems()).containsExactly(dto);
+            assertThat(result.getNextCursor()).isNull();
+        }
+    }
+
+    @Test
+    void getDirectory_shouldClampPageSizeToMaximum() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(profileRepository.findDirectoryFirstPage(isNull(), isNull(), any(Pageable.class)))
+                    .thenReturn(List.of());
+            when(profileMapper.toPublicDtoList(List.of())).thenReturn(List.of());
+
+            service.getDirectory(null, null, null, 10_000);
+
+            verify(profileRepository).findDirectoryFirstPage(isNull(), isNull(),
+                    argThat(pageable -> pageable.getPageSize() == EmployeeProfileServiceImpl.MAX_DIRECTORY_PAGE_SIZE + 1));
+        }
+    }
+
+    @Test
+    void getDirectory_shouldRejectInvalidCursor() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+
+            assertThatThrownBy(() -> service.getDirectory(null, null, "not-a-cursor", null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid directory cursor");
+            verifyNoInteractions(profileRepository, profileMapper);
+        }
+    }
+
+    @Test
+    void searchPublicProfiles_shouldReturnRankedPageAndDetectNextPage() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var view1 = mock(EmployeeProfilePublicView.class);
+        var view2 = mock(EmployeeProfilePublicView.class);
+        var dto1 = EmployeeProfilePublicDto.builder().employeeId(2L).build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(profileRepository.search("java", 2, 1)).thenReturn(List.of(view1, view2));
+            when(profileMapper.viewsToPublicDtoList(List.of(view1))).thenReturn(List.of(dto1));
+
+            var result = service.searchPublicProfiles("  java ", 1, 1);
+
+            assertThat(result.getItems()).containsExactly(dto1);
+            assertThat(result.getPage()).isEqualTo(1);
+            assertThat(result.getSize()).isEqualTo(1);
+            assertThat(result.isHasNext()).isTrue();
+        }
+    }
+
+    @Test
+    void searchPublicProfiles_shouldRejectBlankQuery() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+
+            assertThatThrownBy(() -> service.searchPublicProfiles(" ", null, null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("must not be blank");
+            verifyNoInteractions(profileRepository, profileMapper);
+        }
+    }
+
+    @Test
+    void searchPublicProfiles_shouldRejectPagesBeyondOffsetLimit() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("alice")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+
+            assertThatThrownBy(() -> service.searchPublicProfiles("java", Integer.MAX_VALUE, 50))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("page");
+            verifyNoInteractions(profileRepository, profileMapper);
+        }
+    }
+
+    @Test
+    void getReports_shouldAllowSkipLevelManager() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("director")
+                .roles(Set.of(Role.MANAGER))
+                .build();
+        var target = Employee.builder().id(2L).build();
+        var view = mock(EmployeeReportView.class);
+        var dto = EmployeeReportDto.builder().employeeId(3L).managerId(2L).depth(1).build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(employeeRepository.findById(2L)).thenReturn(Optional.of(target));
+            when(orgHierarchyService.isInReportingChain(1L, 2L)).thenReturn(true);
+            when(employeeRepository.findReportsUnder(2L, 3)).thenReturn(List.of(view));
+            when(profileMapper.toReportDtoList(List.of(view))).thenReturn(List.of(dto));
+
+            var result = service.getReports(2L, 3);
+
+            assertThat(result).containsExactly(dto);
+        }
+    }
+
+    @Test
+    void getReports_shouldDenyEmployeeOutsideReportingChain() {
+        var user = AuthenticatedUser.builder()
+                .userId(30L)
+                .employeeId(3L)
+                .username("coworker")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var target = Employee.builder().id(2L).build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(employeeRepository.findById(2L)).thenReturn(Optional.of(target));
+
+            assertThatThrownBy(() -> service.getReports(2L, null))
+                    .isInstanceOf(AccessDeniedException.class);
+            verify(employeeRepository, never()).findReportsUnder(anyLong(), anyInt());
+        }
+    }
+
+    @Test
+    void getReports_shouldRejectNonPositiveDepth() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(1L)
+                .username("director")
+                .roles(Set.of(Role.MANAGER))
+                .build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+
+            assertThatThrownBy(() -> service.getReports(2L, 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("maxDepth");
+            verifyNoInteractions(employeeRepository);
+        }
+    }
+
+    @Test
+    void getPublicProfile_shouldServeRepeatedReadsFromCache() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(3L)
+                .username("coworker")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var employee = Employee.builder().id(1L).firstName("Alice").build();
+        var profile = EmployeeProfile.builder().id(100L).employee(employee).build();
+        var snapshot = EmployeeProfilePrivateDto.builder().employeeId(1L).firstName("Alice").build();
+        var dto = EmployeeProfilePublicDto.builder().employeeId(1L).firstName("Alice").build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            when(profileRepository.findByEmployeeId(1L)).thenReturn(Optional.of(profile));
+            when(profileMapper.toPrivateDto(profile)).thenReturn(snapshot);
+            when(profileMapper.toPublicDto(any(EmployeeProfilePrivateDto.class))).thenReturn(dto);
+
+            service.getPublicProfile(1L);
+            var result = service.getPublicProfile(1L);
+
+            assertThat(result.getEmployeeId()).isEqualTo(1L);
+            verify(profileRepository, times(1)).findByEmployeeId(1L);
+            verifyNoInteractions(employeeRepository);
+        }
+    }
+
+    @Test
+    void getPublicProfile_shouldNotCacheSnapshotEvictedDuringLoad() {
+        var user = AuthenticatedUser.builder()
+                .userId(10L)
+                .employeeId(3L)
+                .username("coworker")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        var employee = Employee.builder().id(1L).firstName("Alice").build();
+        var profile = EmployeeProfile.builder().id(100L).employee(employee).build();
+        var snapshot = EmployeeProfilePrivateDto.builder().employeeId(1L).firstName("Alice").build();
+        var dto = EmployeeProfilePublicDto.builder().employeeId(1L).firstName("Alice").build();
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            // A write commits while the first load is reading the old row
+            when(profileRepository.findByEmployeeId(1L))
+                    .thenAnswer(invocation -> {
+                        profileCache.evict(1L);
+                        return Optional.of(profile);
+                    })
+                    .thenReturn(Optional.of(profile));
+            when(profileMapper.toPrivateDto(profile)).thenReturn(snapshot);
+            when(profileMapper.toPublicDto(any(EmployeeProfilePrivateDto.class))).thenReturn(dto);
+
+            service.getPublicProfile(1L);
+            service.getPublicProfile(1L);
+            service.getPublicProfile(1L);
+
+            verify(profileRepository, times(2)).findByEmployeeId(1L);
+        }
+    }
+
+    @Test
+    void getPrivateProfile_shouldCheckAccessEvenWhenCached() {
+        var coworkerUser = AuthenticatedUser.builder()
+                .userId(30L)
+                .employeeId(3L)
+                .username("coworker")
+                .roles(Set.of(Role.EMPLOYEE))
+                .build();
+        profileCache.put(1L, EmployeeProfilePrivateDto.builder().employeeId(1L).build());
+
+        try (var securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(coworkerUser);
+
+            assertThatThrownBy(() -> service.getPrivateProfile(1L))
+                    .isInstanceOf(AccessDeniedException.class);
+            verifyNoInteractions(employeeRepository, profileRepository);
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package com.company.employee.service.impl;
+
+import com.company.employee.repository.EmployeeManagerLink;
+import com.company.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrgHierarchyServiceImplTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private OrgHierarchyServiceImpl service;
+
+    @Test
+    void isManagerOf_shouldLoadSnapshotOnce() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 1L)));
+
+        assertThat(service.isManagerOf(1L, 2L)).isTrue();
+        assertThat(service.isManagerOf(1L, 3L)).isTrue();
+        assertThat(service.isManagerOf(2L, 3L)).isFalse();
+        assertThat(service.reportsOf(1L)).containsExactlyInAnyOrder(2L, 3L);
+
+        verify(employeeRepository, times(1)).findAllManagerLinks();
+    }
+
+    @Test
+    void isManagerOf_shouldReturnFalseForNullIds() {
+        assertThat(service.isManagerOf(null, 2L)).isFalse();
+        assertThat(service.isManagerOf(1L, null)).isFalse();
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void isManagerOf_shouldLookUpEmployeeMissingFromSnapshot() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null)));
+        when(employeeRepository.findManagerLink(4L)).thenReturn(Optional.of(link(4L, 1L)));
+
+        assertThat(service.isManagerOf(1L, 4L)).isTrue();
+        assertThat(service.isManagerOf(1L, 4L)).isTrue();
+
+        verify(employeeRepository, times(1)).findManagerLink(4L);
+    }
+
+    @Test
+    void onManagerChanged_shouldPatchLoadedSnapshot() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 1L)));
+        service.refresh();
+
+        service.onManagerChanged(3L, 2L);
+
+        assertThat(service.isManagerOf(2L, 3L)).isTrue();
+        assertThat(service.isManagerOf(1L, 3L)).isFalse();
+        verify(employeeRepository, times(1)).findAllManagerLinks();
+    }
+
+    @Test
+    void refresh_shouldReloadWhenReportingLineWasPatchedDuringLoad() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 1L)));
+        service.refresh();
+        // The patch lands while the refresh is reading, which still sees the old reporting line
+        doAnswer(invocation -> {
+                    service.onManagerChanged(3L, 2L);
+                    return List.of(link(1L, null), link(2L, 1L), link(3L, 1L));
+                })
+                .doReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 2L)))
+                .when(employeeRepository).findAllManagerLinks();
+
+        service.refresh();
+
+        assertThat(service.isManagerOf(2L, 3L)).isTrue();
+        assertThat(service.isManagerOf(1L, 3L)).isFalse();
+        verify(employeeRepository, times(3)).findAllManagerLinks();
+    }
+
+    @Test
+    void isInReportingChain_shouldAnswerDirectReportsFromMemory() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 2L)));
+
+        assertThat(service.isInReportingChain(1L, 2L)).isTrue();
+
+        verify(employeeRepository, never()).isInReportingChain(anyLong(), anyLong());
+    }
+
+    @Test
+    void isInReportingChain_shouldAskClosureTableForSkipLevels() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 2L)));
+        when(employeeRepository.isInReportingChain(1L, 3L)).thenReturn(true);
+
+        assertThat(service.isInReportingChain(1L, 3L)).isTrue();
+    }
+
+    @Test
+    void evict_shouldReloadReportingLineChangedOnAnotherNode() {
+        when(employeeRepository.findAllManagerLinks()).thenReturn(List.of(link(1L, null), link(2L, 1L), link(3L, 1L)));
+        when(employeeRepository.findManagerLink(3L)).thenReturn(Optional.of(link(3L, 2L)));
+        service.refresh();
+
+        service.evict("3");
+
+        assertThat(service.isManagerOf(2L, 3L)).isTrue();
+        verify(employeeRepository, times(1)).findAllManagerLinks();
+    }
+
+    @Test
+    void evict_shouldIgnoreInvalidationsBeforeFirstLoad() {
+        service.evict("3");
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static EmployeeManagerLink link(Long employeeId, Long managerId) {
+        return new EmployeeManagerLink() {
+            @Override
+            public Long getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public Long getManagerId() {
+                return managerId;
+            }
+        };
+    }
+}
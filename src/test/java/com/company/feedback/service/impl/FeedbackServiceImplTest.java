@@ -3,13 +3,18 @@ package com.company.feedback.service.impl;
 import com.company.auth.model.AuthenticatedUser;
 import com.company.auth.model.Role;
 import com.company.auth.security.SecurityUtils;
+import com.company.common.outbox.OutboxEvent;
+import com.company.common.outbox.OutboxWriter;
 import com.company.employee.entity.Employee;
 import com.company.employee.repository.EmployeeRepository;
+import com.company.employee.service.OrgHierarchyService;
 import com.company.feedback.dto.FeedbackCreateRequest;
 import com.company.feedback.dto.FeedbackDto;
 import com.company.feedback.entity.Feedback;
 import com.company.feedback.mapper.FeedbackMapper;
 import com.company.feedback.repository.FeedbackRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,6 +46,15 @@ class FeedbackServiceImplTest {
     @Mock
     private FeedbackMapper feedbackMapper;
 
+    @Mock
+    private OrgHierarchyService orgHierarchyService;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private FeedbackServiceImpl service;
 
@@ -149,6 +163,7 @@ class FeedbackServiceImplTest {
 
             assertThat(result.getId()).isEqualTo(100L);
             verify(feedbackRepository).save(any(Feedback.class));
+            verify(outboxWriter).append(new OutboxEvent("feedback", 100L, "feedback.created", dto));
         }
     }
 
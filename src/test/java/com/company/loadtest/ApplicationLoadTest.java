@@ -0,0 +1,121 @@
+package com.company.loadtest;
+
+import com.company.db.AbstractFlywayIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application against PostgreSQL, seeds a synthetic org and drives a realistic mix of logins,
+ * profile reads, feedback and absence workflows, reporting throughput and latency percentiles per endpoint.
+ * <p>
+ * Tagged {@code load} and excluded from the regular build; run with {@code mvn -Pload-test test} and size it
+ * with {@code -Dloadtest.employees=50000 -Dloadtest.absences=1000000 -Dloadtest.feedback=2000000}
+ * (see {@link LoadTestSettings}).
+ */
+@Tag("load")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ApplicationLoadTest {
+
+    /**
+     * Users whose index is a multiple of this act as managers.
+     */
+    private static final int MANAGER_EVERY = 10;
+
+    /**
+     * Highest tolerated share of failed requests.
+     */
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = AbstractFlywayIntegrationTest.postgresContainer();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        AbstractFlywayIntegrationTest.registerDataSource(registry, POSTGRES);
+        registry.add("security.jwt.secret", () -> Base64.getEncoder().encodeToString(new byte[32]));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        var settings = LoadTestSettings.fromSystemProperties();
+
+        var seedingStarted = System.nanoTime();
+        var org = new SyntheticOrgSeeder(jdbcTemplate).seed(settings);
+        System.out.println("Seeded " + settings.employees() + " employees, " + settings.absences() + " absences and "
+                + settings.feedback() + " feedback entries in " + Duration.ofNanos(System.nanoTime() - seedingStarted));
+
+        try (var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            var baseUri = URI.create("http://localhost:" + port);
+            var requestedWeeks = new AtomicLong();
+
+            run(client, baseUri, org, settings, requestedWeeks, settings.warmUp());
+            var result = run(client, baseUri, org, settings, requestedWeeks, settings.duration());
+
+            System.out.println("Load test with " + settings.virtualUsers() + " virtual users for " + settings.duration());
+            System.out.print(result.report(settings.duration()));
+
+            assertThat(result.requests()).isPositive();
+            assertThat((double) result.failures() / result.requests()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        }
+    }
+
+    private LatencyRecorder run(HttpClient client, URI baseUri, SyntheticOrgSeeder.SyntheticOrg org,
+                                LoadTestSettings settings, AtomicLong requestedWeeks, Duration duration) throws Exception {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var recorders = new ArrayList<LatencyRecorder>();
+        var futures = new ArrayList<Future<?>>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.virtualUsers(); i++) {
+                var managerPosition = i % MANAGER_EVERY == 0 && org.managers() > 0
+                        ? 1 + (i / MANAGER_EVERY) % org.managers()
+                        : null;
+                var user = new VirtualUser(client, objectMapper, baseUri, org, settings.fanOut(), managerPosition,
+                        requestedWeeks, i);
+                var recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                futures.add(executor.submit(() -> user.run(deadline, recorder)));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+
+        var merged = new LatencyRecorder();
+        recorders.forEach(recorder -> recorder.mergeInto(merged));
+        return merged;
+    }
+}
@@ -0,0 +1,82 @@
+package com.company.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and failures per endpoint. Each virtual user records into its own instance, so recording never
+ * contends; the instances are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new TreeMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        samplesByEndpoint.computeIfAbsent(endpoint, e -> new Samples()).add(latencyNanos, success);
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        samplesByEndpoint.forEach((endpoint, samples) ->
+                target.samplesByEndpoint.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+    }
+
+    long requests() {
+        return samplesByEndpoint.values().stream().mapToLong(s -> s.count).sum();
+    }
+
+    long failures() {
+        return samplesByEndpoint.values().stream().mapToLong(s -> s.failures).sum();
+    }
+
+    String report(Duration elapsed) {
+        var seconds = elapsed.toNanos() / 1e9;
+        var report = new StringBuilder(String.format("%-42s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        samplesByEndpoint.forEach((endpoint, samples) -> {
+            var sorted = Arrays.copyOf(samples.latencies, samples.count);
+            Arrays.sort(sorted);
+            report.append(String.format("%-42s %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, samples.count, samples.failures, samples.count / seconds,
+                    percentileMillis(sorted, 50), percentileMillis(sorted, 90), percentileMillis(sorted, 99),
+                    percentileMillis(sorted, 100)));
+        });
+        report.append(String.format("%-42s %9d %9d %9.1f%n", "total", requests(), failures(), requests() / seconds));
+        return report.toString();
+    }
+
+    private static double percentileMillis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int failures;
+
+        void add(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                failures++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(count + other.count, count * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            failures += other.failures;
+        }
+    }
+}
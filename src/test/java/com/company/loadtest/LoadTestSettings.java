@@ -0,0 +1,41 @@
+package com.company.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Size of the synthetic org and shape of the load, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param employees    employees in the synthetic org
+ * @param absences     absence requests spread evenly over the employees
+ * @param feedback     feedback entries spread evenly over the employees
+ * @param fanOut       direct reports per manager
+ * @param virtualUsers concurrent simulated users, each looping over the workload mix without think time
+ * @param warmUp       load applied before measuring
+ * @param duration     measured load
+ */
+record LoadTestSettings(int employees,
+                        int absences,
+                        int feedback,
+                        int fanOut,
+                        int virtualUsers,
+                        Duration warmUp,
+                        Duration duration) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.employees", 5_000),
+                Integer.getInteger("loadtest.absences", 100_000),
+                Integer.getInteger("loadtest.feedback", 200_000),
+                Integer.getInteger("loadtest.fan-out", 8),
+                Integer.getInteger("loadtest.virtual-users", 50),
+                Duration.parse(System.getProperty("loadtest.warm-up", "PT15S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")));
+    }
+
+    /**
+     * Employees that manage at least one other employee, i.e. the first positions of the org.
+     */
+    int managers() {
+        return employees < 2 ? 0 : (employees - 2) / fanOut + 1;
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.loadtest;
+
+import com.company.datagen.OrgDataGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+
+/**
+ * Seeds the synthetic org with {@link OrgDataGenerator}, which bulk-loads it with {@code COPY}.
+ * <p>
+ * Employee {@code n} (1-based position) reports to position {@code (n - 2) / fanOut + 1}, so the first
+ * {@link LoadTestSettings#managers()} positions are managers. Every account logs in as
+ * {@code user<n>} with {@link #PASSWORD}.
+ */
+final class SyntheticOrgSeeder {
+
+    static final String PASSWORD = OrgDataGenerator.DEFAULT_PASSWORD;
+
+    private static final long SEED = 42L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SyntheticOrgSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    SyntheticOrg seed(LoadTestSettings settings) {
+        var generator = new OrgDataGenerator(new OrgDataGenerator.Settings(settings.employees(), settings.absences(),
+                settings.feedback(), settings.fanOut(), SEED, PASSWORD));
+        var result = jdbcTemplate.execute((Connection connection) -> generator.load(connection));
+        return new SyntheticOrg(result.baseId(), result.employees(), result.managers());
+    }
+
+    /**
+     * Seeded positions {@code 1..employees} have employee and user account id {@code base + position}.
+     */
+    record SyntheticOrg(long base, int employees, int managers) {
+
+        long employeeId(int position) {
+            return base + position;
+        }
+
+        String username(int position) {
+            return "user" + position;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.company.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One simulated user looping over a weighted mix of the application's workflows until the deadline.
+ * <p>
+ * Managers own a fixed position so that no two users decide the same absence requests; employees log in as
+ * a random position and switch identity whenever they log in again.
+ */
+final class VirtualUser {
+
+    private static final LocalDate FIRST_REQUESTED_WEEK = LocalDate.of(2040, 1, 2);
+    private static final String[] DEPARTMENTS = {"Engineering", "Product", "Sales", "Finance", "Human Resources", "Operations"};
+    private static final String[] SEARCH_TERMS = {"engineer", "java", "product", "designer", "analyst"};
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final SyntheticOrgSeeder.SyntheticOrg org;
+    private final int fanOut;
+    private final Integer managerPosition;
+    private final AtomicLong requestedWeeks;
+    private final SplittableRandom random;
+    private final List<Operation> mix;
+    private final int totalWeight;
+
+    private int position;
+    private String token;
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, URI baseUri, SyntheticOrgSeeder.SyntheticOrg org,
+                int fanOut, Integer managerPosition, AtomicLong requestedWeeks, long seed) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.org = org;
+        this.fanOut = fanOut;
+        this.managerPosition = managerPosition;
+        this.requestedWeeks = requestedWeeks;
+        this.random = new SplittableRandom(seed);
+        this.mix = managerPosition != null ? managerMix() : employeeMix();
+        this.totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+    }
+
+    void run(long deadlineNanos, LatencyRecorder recorder) {
+        login(recorder);
+        while (System.nanoTime() < deadlineNanos) {
+            var pick = random.nextInt(totalWeight);
+            for (var operation : mix) {
+                pick -= operation.weight();
+                if (pick < 0) {
+                    operation.action().run(recorder);
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<Operation> employeeMix() {
+        return List.of(
+                new Operation(5, this::login),
+                new Operation(15, r -> get(r, "GET /api/employees/me/profile", "/api/employees/me/profile")),
+                new Operation(25, r -> get(r, "GET /api/employees/{id}/profile/public",
+                        "/api/employees/" + randomEmployeeId() + "/profile/public")),
+                new Operation(10, r -> get(r, "GET /api/employees/directory",
+                        "/api/employees/directory?department=" + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)].replace(" ", "%20"))),
+                new Operation(5, r -> get(r, "GET /api/employees/search",
+                        "/api/employees/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)])),
+                new Operation(10, r -> get(r, "GET /api/employees/{id}/feedback",
+                        "/api/employees/" + org.employeeId(position) + "/feedback")),
+                new Operation(5, this::createFeedback),
+                new Operation(15, r -> get(r, "GET /api/me/absences", "/api/me/absences")),
+                new Operation(10, this::requestAbsence));
+    }
+
+    private List<Operation> managerMix() {
+        return List.of(
+                new Operation(5, this::login),
+                new Operation(10, r -> get(r, "GET /api/employees/me/profile", "/api/employees/me/profile")),
+                new Operation(15, r -> get(r, "GET /api/employees/{id}/profile/private",
+                        "/api/employees/" + randomReportId() + "/profile/private")),
+                new Operation(15, r -> get(r, "GET /api/employees/{id}/feedback",
+                        "/api/employees/" + randomReportId() + "/feedback")),
+                new Operation(10, r -> get(r, "GET /api/employees/{id}/reports",
+                        "/api/employees/" + org.employeeId(position) + "/reports?maxDepth=2")),
+                new Operation(20, r -> get(r, "GET /api/managers/me/absences", "/api/managers/me/absences")),
+                new Operation(15, this::approvePendingAbsence),
+                new Operation(10, this::createFeedback));
+    }
+
+    private void login(LatencyRecorder recorder) {
+        position = managerPosition != null ? managerPosition : randomPosition();
+        var response = send(recorder, "POST /api/auth/login", json("/api/auth/login",
+                Map.of("username", org.username(position), "password", SyntheticOrgSeeder.PASSWORD)).build());
+        if (response != null) {
+            token = response.path("token").asText();
+        }
+    }
+
+    private void createFeedback(LatencyRecorder recorder) {
+        var target = org.employeeId(position);
+        while (target == org.employeeId(position)) {
+            target = managerPosition != null ? randomReportId() : randomEmployeeId();
+        }
+        send(recorder, "POST /api/employees/{id}/feedback", authorized(json("/api/employees/" + target + "/feedback",
+                Map.of("text", "Load test feedback", "visibility", "EMPLOYEE_AND_MANAGER"))));
+    }
+
+    private void requestAbsence(LatencyRecorder recorder) {
+        // Every request gets its own week so requests never overlap, whoever is logged in
+        var from = FIRST_REQUESTED_WEEK.plusWeeks(requestedWeeks.getAndIncrement());
+        send(recorder, "POST /api/me/absences", authorized(json("/api/me/absences",
+                Map.of("fromDate", from.toString(), "toDate", from.plusDays(2).toString(), "type", "VACATION"))));
+    }
+
+    private void approvePendingAbsence(LatencyRecorder recorder) {
+        var pending = get(recorder, "GET /api/managers/me/absences", "/api/managers/me/absences");
+        if (pending == null) {
+            return;
+        }
+        for (var absence : pending) {
+            if ("PENDING".equals(absence.path("status").asText())) {
+                var decision = random.nextInt(4) == 0 ? "reject" : "approve";
+                send(recorder, "POST /api/absences/{id}/" + decision, authorized(HttpRequest.newBuilder(
+                        baseUri.resolve("/api/absences/" + absence.path("id").asLong() + "/" + decision))
+                        .POST(HttpRequest.BodyPublishers.noBody())));
+                return;
+            }
+        }
+    }
+
+    private JsonNode get(LatencyRecorder recorder, String endpoint, String path) {
+        return send(recorder, endpoint, authorized(HttpRequest.newBuilder(baseUri.resolve(path)).GET()));
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder) {
+        return builder.header("Authorization", "Bearer " + token).build();
+    }
+
+    private HttpRequest.Builder json(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the parsed response body, or null if the call failed
+     */
+    private JsonNode send(LatencyRecorder recorder, String endpoint, HttpRequest request) {
+        var started = System.nanoTime();
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            var success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - started, success);
+            return success && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - started, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int randomPosition() {
+        var managers = org.managers();
+        // Employees without reports, unless the org is too small to have any
+        return managers < org.employees()
+                ? managers + 1 + random.nextInt(org.employees() - managers)
+                : 1 + random.nextInt(org.employees());
+    }
+
+    private long randomEmployeeId() {
+        return org.employeeId(1 + random.nextInt(org.employees()));
+    }
+
+    private long randomReportId() {
+        var first = (position - 1) * fanOut + 2;
+        var last = Math.min(position * fanOut + 1, org.employees());
+        return org.employeeId(first + random.nextInt(last - first + 1));
+    }
+
+    private record Operation(int weight, Action action) {
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(LatencyRecorder recorder);
+    }
+}